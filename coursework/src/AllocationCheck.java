@@ -0,0 +1,97 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: AllocationCheck API, checks that EdmondsCarp does
+                not allocate once its augmenting paths are running
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * AllocationCheck API, a runnable check that augmenting paths are found and applied without allocating
+ * EdmondsCarp is solved a few times to warm up the JIT, then once more with a listener that reads the threads
+ * allocation counter at every augmenting path. Everything the solve needs is created before its first path, so the
+ * counter must not move from the first path to the last
+ * The listener only reads the counter into a field, so it allocates nothing itself
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class AllocationCheck {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Reads the allocation counter at every augmenting path
+     */
+    private static class AllocationListener implements SolveListener {
+        private final long THREAD = Thread.currentThread().getId();
+        private long first = -1;        // allocated bytes at the first augmenting path, -1 until there is one
+        private long last;              // allocated bytes at the latest augmenting path
+        private int paths;              // augmenting paths seen
+
+        @Override
+        public void onAugmentingPath(int augmentingPaths, int bottleneckCapacity, int flowBefore, int flowAfter) {
+            last = THREADS.getThreadAllocatedBytes(THREAD);
+            paths++;
+            if (first < 0) {
+                first = last;
+            }
+        }
+    }
+
+    /**
+     * Solve a file and measure the bytes allocated between its first and last augmenting path
+     * @param parsed - the parsed file
+     * @param warmup - solves run before the measured one
+     * @return bytes allocated during the augmenting paths of the measured solve
+     */
+    static long augmentationBytes(FastFileParser parsed, int warmup) {
+        int sink = parsed.getVerticesTotal() - 1;
+        for (int i = 0; i < warmup; i++) {
+            new EdmondsCarp(new FlowNetwork(parsed), 0, sink);
+        }
+        AllocationListener listener = new AllocationListener();
+        new EdmondsCarp(new FlowNetwork(parsed), 0, sink, listener);
+        if (listener.paths < 2) {
+            throw new IllegalArgumentException("[ERROR] --> Need at least two augmenting paths to measure between");
+        }
+        return listener.last - listener.first;
+    }
+
+    /**
+     * Runs the check, exits with status 1 if any augmenting path allocated
+     * @param args - "--file=network file" (default testFiles/ladder_9.txt), "--warmup=N" solves before measuring
+     *             (default 10)
+     */
+    public static void main(String[] args) {
+        String file = "testFiles/ladder_9.txt";
+        int warmup = 10;
+        long bytes;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--file=")) {
+                    file = arg.substring("--file=".length());
+                } else if (arg.startsWith("--warmup=")) {
+                    warmup = Integer.parseInt(arg.substring("--warmup=".length()));
+                } else {
+                    System.out.println("[ERROR] --> Unknown option " + arg);
+                    return;
+                }
+            }
+            bytes = augmentationBytes(new FastFileParser(file), warmup);
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.out.println("[ERROR] --> stopping program...");
+            System.exit(1);
+            return;
+        }
+
+        if (bytes != 0) {
+            System.out.println("[ERROR] --> " + bytes + " bytes allocated by the augmenting paths of " + file);
+            System.exit(1);
+        }
+        System.out.println("OK no bytes allocated by the augmenting paths of " + file);
+    }
+}
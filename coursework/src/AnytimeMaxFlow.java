@@ -0,0 +1,243 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: AnytimeMaxFlow API, a max flow that can be stopped
+                at a deadline or cancelled, giving bounds instead
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * AnytimeMaxFlow API, the EdmondsCarp algorithm for callers with a latency budget
+ * Before every augmenting path the solve checks its deadline and its cancel flag, and when either has passed it
+ * stops with the max flow somewhere between two bounds:
+ * the flow value found so far, a lower bound since it is a feasible flow, and the capacity of the smallest cut seen,
+ * an upper bound since no flow can be larger than any cut
+ * The cuts come from a breadth first search of the residual network, every set of vertices within k levels of the
+ * source, for k below the level of the target, is a cut. Only residual edges from level k to k+1 leave such a set,
+ * and the capacity of a cut is the flow value plus the residual capacity leaving it, so one search finds the best of
+ * them. A solve that runs to the end finds no path to the target, the bounds are then equal and the flow is the max flow
+ * With a listener, the bounds are also reported about every PROGRESS_NANOS while the solve runs
+ * A single search is never interrupted, so on a very large network the solve can end up to one search past its deadline
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class AnytimeMaxFlow {
+    private static final long PROGRESS_NANOS = 100_000_000L;   // time between progress reports, 100ms
+
+    private final int VERTICES;         // Number of vertices
+    private final int[] LEVEL;          // distance of each vertex from the source in the residual network, -1 if unreached
+    private final int[] QUEUE;          // array backed queue of the cut search
+    private int flowValue;              // value of the flow found so far
+    private long upperBound;            // capacity of the smallest cut seen
+    private int augmentingPaths;        // number of augmenting paths applied
+    private boolean complete;           // whether the solve ran to the end
+
+    /**
+     * Solve until the max flow is found or the timeout passes
+     * @param flowNetwork - the FlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @param timeoutNanos - time the solve may take, Long.MAX_VALUE for no deadline
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1, when source and target
+     * are same or the timeout is negative
+     */
+    public AnytimeMaxFlow(FlowNetwork flowNetwork, int source, int target, long timeoutNanos) {
+        this(flowNetwork, source, target, timeoutNanos, new AtomicBoolean(), SolveListener.NONE);
+    }
+
+    /**
+     * Solve until the max flow is found, the timeout passes or the solve is cancelled
+     * Every step is reported to the listener, along with the bounds every PROGRESS_NANOS
+     * @param flowNetwork - the FlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @param timeoutNanos - time the solve may take, Long.MAX_VALUE for no deadline
+     * @param cancelled - set to true, from any thread, to stop the solve
+     * @param listener - where to report each step, SolveListener.NONE to skip reporting entirely
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1, when source and target
+     * are same or the timeout is negative
+     */
+    public AnytimeMaxFlow(FlowNetwork flowNetwork, int source, int target, long timeoutNanos,
+                          AtomicBoolean cancelled, SolveListener listener) {
+        this.VERTICES = flowNetwork.getNumberOfVertices();
+
+        // check to see whether source and target are valid vertices
+        validVertex(source);
+        validVertex(target);
+
+        // same source and target no flow
+        if (source == target) {
+            throw new IllegalArgumentException("[ERROR] --> Source and target are the same");
+        }
+        if (timeoutNanos < 0) {
+            throw new IllegalArgumentException("[ERROR] --> Negative timeout not allowed");
+        }
+        this.LEVEL = new int[VERTICES];
+        this.QUEUE = new int[VERTICES];
+        this.upperBound = Long.MAX_VALUE;
+
+        boolean tracing = listener != SolveListener.NONE;
+        if (tracing) {
+            listener.onStart(flowNetwork.getNumberOfEdges(), VERTICES);
+        }
+
+        FlowEdge[] edgeTo = new FlowEdge[VERTICES];
+        AugmentingPathSearch search = new AugmentingPathSearch(VERTICES);
+        long startNanos = System.nanoTime();
+        long lastProgress = startNanos;
+
+        // the elapsed time is compared rather than a deadline, so that a timeout of Long.MAX_VALUE cannot overflow
+        while (!cancelled.get() && System.nanoTime() - startNanos < timeoutNanos) {
+            if (!search.search(flowNetwork, source, target, edgeTo)) {
+                complete = true;
+                break;
+            }
+
+            int bottleneckCapacity = Integer.MAX_VALUE;
+            for (int v = target; v != source; v = edgeTo[v].otherEnd(v)) {
+                bottleneckCapacity = Math.min(bottleneckCapacity, edgeTo[v].residualCapacity(v));
+            }
+            for (int v = target; v != source; v = edgeTo[v].otherEnd(v)) {
+                FlowEdge edge = edgeTo[v];
+                int flowBefore = edge.getFlow();
+                edge.addResidualFlow(v, bottleneckCapacity);
+                if (tracing) {
+                    listener.onEdgeAugmented(edge.from(), edge.to(), edge.getCapacity(), flowBefore, edge.getFlow());
+                }
+            }
+
+            int flowBefore = flowValue;
+            flowValue += bottleneckCapacity;
+            augmentingPaths++;
+            if (tracing) {
+                listener.onAugmentingPath(augmentingPaths, bottleneckCapacity, flowBefore, flowValue);
+
+                // the cut search costs as much as an augmenting path search, so it is only run between reports
+                long now = System.nanoTime();
+                if (now - lastProgress >= PROGRESS_NANOS) {
+                    upperBound = Math.min(upperBound, bestCut(flowNetwork, source, target));
+                    listener.onProgress(flowValue, upperBound, augmentingPaths);
+                    lastProgress = now;
+                }
+            }
+        }
+
+        // a finished solve has no path left, its reachable vertices are a cut with nothing left to cross it
+        upperBound = complete ? flowValue : Math.min(upperBound, bestCut(flowNetwork, source, target));
+
+        SolverMetrics.get().recordSolve("anytime", VERTICES, flowNetwork.getNumberOfEdges(),
+                System.nanoTime() - startNanos, search.getSearches(), search.getEdgesExamined(),
+                search.getVerticesDequeued(), augmentingPaths, flowValue, flowValue);
+
+        if (tracing) {
+            listener.onFinish(flowValue, augmentingPaths);
+        }
+    }
+
+    /**
+     * Capacity of the smallest level cut of the residual network
+     * @param flowNetwork - which flow network
+     * @param source - network source
+     * @param target - network sink
+     * @return the capacity of the cut, the flow value if the target cannot be reached
+     */
+    private long bestCut(FlowNetwork flowNetwork, int source, int target) {
+        // the whole residual network is searched, the target does not end it
+        Arrays.fill(LEVEL, -1);
+        int head = 0;
+        int tail = 0;
+        LEVEL[source] = 0;
+        QUEUE[tail++] = source;
+        while (head < tail) {
+            int vertexFrom = QUEUE[head++];
+            ArrayList<FlowEdge> adjacent = flowNetwork.getAdjacent(vertexFrom);
+            for (int i = 0; i < adjacent.size(); i++) {
+                FlowEdge edge = adjacent.get(i);
+                int vertexTo = edge.otherEnd(vertexFrom);
+                if (LEVEL[vertexTo] == -1 && edge.residualCapacity(vertexTo) > 0) {
+                    LEVEL[vertexTo] = LEVEL[vertexFrom] + 1;
+                    QUEUE[tail++] = vertexTo;
+                }
+            }
+        }
+        if (LEVEL[target] == -1) {
+            return flowValue;
+        }
+
+        // crossing[k] is the residual capacity from level k to level k+1, what leaves the vertices within k levels
+        long[] crossing = new long[LEVEL[target]];
+        for (int i = 0; i < tail; i++) {
+            int vertexFrom = QUEUE[i];
+            if (LEVEL[vertexFrom] >= LEVEL[target]) {
+                break;      // the queue is in level order, no later vertex is on the source side of any level cut
+            }
+            ArrayList<FlowEdge> adjacent = flowNetwork.getAdjacent(vertexFrom);
+            for (int e = 0; e < adjacent.size(); e++) {
+                FlowEdge edge = adjacent.get(e);
+                int vertexTo = edge.otherEnd(vertexFrom);
+                if (LEVEL[vertexTo] == LEVEL[vertexFrom] + 1) {
+                    crossing[LEVEL[vertexFrom]] += edge.residualCapacity(vertexTo);
+                }
+            }
+        }
+        long smallest = Long.MAX_VALUE;
+        for (long residual : crossing) {
+            smallest = Math.min(smallest, residual);
+        }
+        return flowValue + smallest;
+    }
+
+    /**
+     * @return the flow value found, a lower bound of the max flow, the max flow itself if the solve is complete
+     */
+    public int getLowerBound() {
+        return flowValue;
+    }
+
+    /**
+     * @return capacity of the smallest cut seen, an upper bound of the max flow, the max flow itself if the solve is
+     * complete
+     */
+    public long getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * @return graphs max flow if the solve is complete, otherwise the flow found before it was stopped
+     */
+    public int getFlowValue() {
+        return flowValue;
+    }
+
+    /**
+     * @return whether the solve ran to the end, rather than being stopped by its deadline or cancel flag
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return number of augmenting paths applied
+     */
+    public int getAugmentingPaths() {
+        return augmentingPaths;
+    }
+
+    /**
+     * vertex validation
+     * @param vertex - which vertex to validate
+     * @throws IllegalArgumentException if vertex is out of bounds of 0 and V
+     * starts from 0, therefore will go till total-1
+     */
+    private void validVertex(int vertex) {
+        if (vertex < 0 || vertex >= VERTICES) {
+            throw new IllegalArgumentException("[ERROR] --> Illegal vertex choice: It must be less than " + VERTICES +
+                    " and greater than 0");
+        }
+    }
+}
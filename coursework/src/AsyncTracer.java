@@ -0,0 +1,261 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: AsyncTracer API, a SolveListener that writes the
+                solvers steps to the console or a file
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * AsyncTracer API, which prints the same trace EdmondsCarp used to print, but off the solver thread
+ * The solver only copies the primitive values of each event into a ring buffer, a background thread turns them into
+ * text and writes them through a large buffer, so the solver never waits on the console or the disk
+ * If the solver produces events faster than they can be written, it waits for free space instead of losing events
+ * Must be closed once the solver is done, so that everything left in the buffer is written out
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class AsyncTracer implements SolveListener, Closeable {
+    private static final int EVENT_SIZE = 6;            // ints per event, the event type followed by its values
+    private static final int CAPACITY = 1 << 16;        // number of events the ring buffer can hold
+    private static final int START = 0;                 // event types
+    private static final int EDGE = 1;
+    private static final int PATH = 2;
+    private static final int FINISH = 3;
+    private static final int PROGRESS = 4;
+
+    private final int[] EVENTS = new int[CAPACITY * EVENT_SIZE];   // ring buffer of events
+    private final Writer WRITER;                                   // where the trace goes
+    private final boolean CLOSE_WRITER;                            // whether the writer is ours to close
+    private final Thread WRITER_THREAD;                            // turns events into text
+    private long written;           // number of events put into the buffer
+    private long read;              // number of events taken out of the buffer
+    private boolean closed;         // no more events will come
+    private IOException failure;    // first write failure, reported on close
+
+    /**
+     * Trace to the console
+     */
+    public AsyncTracer() {
+        this(System.out, false);
+    }
+
+    /**
+     * Trace to a file, the file is created or overwritten
+     * @param file - file to write the trace to
+     * @throws IOException if the file cannot be opened
+     */
+    public AsyncTracer(String file) throws IOException {
+        this(new FileOutputStream(file), true);
+    }
+
+    /**
+     * Trace to a stream
+     * @param out - stream to write to
+     * @param closeStream - whether closing the tracer closes the stream as well
+     */
+    private AsyncTracer(OutputStream out, boolean closeStream) {
+        this.WRITER = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        this.CLOSE_WRITER = closeStream;
+        this.WRITER_THREAD = new Thread(this::drain, "AsyncTracer");
+        this.WRITER_THREAD.setDaemon(true);
+        this.WRITER_THREAD.start();
+    }
+
+    @Override
+    public void onStart(int edges, int vertices) {
+        put(START, edges, vertices, 0, 0, 0);
+    }
+
+    @Override
+    public void onEdgeAugmented(int vertexFrom, int vertexTo, int capacity, int flowBefore, int flowAfter) {
+        put(EDGE, vertexFrom, vertexTo, capacity, flowBefore, flowAfter);
+    }
+
+    @Override
+    public void onAugmentingPath(int augmentingPaths, int bottleneckCapacity, int flowBefore, int flowAfter) {
+        put(PATH, augmentingPaths, bottleneckCapacity, flowBefore, flowAfter, 0);
+    }
+
+    @Override
+    public void onProgress(int flowValue, long upperBound, int augmentingPaths) {
+        // the bound does not fit one int of the buffer, it is split into its high and low halves
+        put(PROGRESS, flowValue, (int) (upperBound >>> 32), (int) upperBound, augmentingPaths, 0);
+    }
+
+    @Override
+    public void onFinish(int flowValue, int augmentingPaths) {
+        put(FINISH, flowValue, augmentingPaths, 0, 0, 0);
+    }
+
+    /**
+     * Copy an event into the ring buffer, waiting while the buffer is full
+     */
+    private synchronized void put(int type, int a, int b, int c, int d, int e) {
+        boolean interrupted = false;
+        while (written - read == CAPACITY && !closed) {
+            interrupted |= waitQuietly();
+        }
+        // the interrupt belongs to the solver, it is kept for it but must not cut every later wait short
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (closed) {
+            return;
+        }
+        int at = (int) (written % CAPACITY) * EVENT_SIZE;
+        EVENTS[at] = type;
+        EVENTS[at + 1] = a;
+        EVENTS[at + 2] = b;
+        EVENTS[at + 3] = c;
+        EVENTS[at + 4] = d;
+        EVENTS[at + 5] = e;
+        // only wake the writer when it may be waiting on an empty buffer
+        if (written++ == read) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Background loop, formats and writes events until the tracer is closed and the buffer is empty
+     */
+    private void drain() {
+        int[] event = new int[EVENT_SIZE];
+        StringBuilder line = new StringBuilder(256);
+        boolean interrupted = false;
+        try {
+            while (true) {
+                synchronized (this) {
+                    while (written == read && !closed) {
+                        interrupted |= waitQuietly();
+                    }
+                    if (written == read) {
+                        break;
+                    }
+                    System.arraycopy(EVENTS, (int) (read % CAPACITY) * EVENT_SIZE, event, 0, EVENT_SIZE);
+                    if (read++ == written - CAPACITY) {
+                        notifyAll();
+                    }
+                }
+                line.setLength(0);
+                format(event, line);
+                WRITER.append(line);
+            }
+            WRITER.flush();
+        } catch (IOException e) {
+            synchronized (this) {
+                failure = e;
+                closed = true;
+                notifyAll();
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Turn an event into the text EdmondsCarp used to print for it
+     * @param event - the event type followed by its values
+     * @param line - where to put the text
+     */
+    private static void format(int[] event, StringBuilder line) {
+        switch (event[0]) {
+            case START:
+                line.append("Flow Network: Edges = ").append(event[1]).append(", Vertices = ").append(event[2])
+                        .append("\n\n\n");
+                break;
+            case EDGE:
+                line.append("Before Adding Residual Flow: ");
+                appendEdge(line, event[1], event[2], event[4], event[3]);
+                line.append(" || After Adding Residual Flow: ");
+                appendEdge(line, event[1], event[2], event[5], event[3]);
+                line.append('\n');
+                break;
+            case PATH:
+                line.append("Augmenting Path: ").append(event[1]).append('\n')
+                        .append("Bottleneck Capacity: ").append(event[2]).append('\n')
+                        .append("Flow Value Incrementing from: ").append(event[3]).append(" to: ").append(event[4])
+                        .append("\n\n");
+                break;
+            case PROGRESS:
+                line.append("Progress: Augmenting Paths = ").append(event[4]).append(", Max Flow between ")
+                        .append(event[1]).append(" and ").append((long) event[2] << 32 | (event[3] & 0xFFFFFFFFL))
+                        .append("\n\n");
+                break;
+            case FINISH:
+                line.append("Augmenting Paths: ").append(event[2]).append(", Flow Value: ").append(event[1])
+                        .append('\n');
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Append an edge in the same form as FlowEdge.toString()
+     */
+    private static void appendEdge(StringBuilder line, int vertexFrom, int vertexTo, int flow, int capacity) {
+        line.append("Flow Edge: ").append(vertexFrom).append("->").append(vertexTo).append(", Flow: ").append(flow)
+                .append(", Capacity: ").append(capacity);
+    }
+
+    /**
+     * Wait on this tracers monitor, an interrupt just ends the wait early
+     * The interrupt is not re-asserted here, or every following wait of the callers loop would return at once and
+     * spin, the caller restores it once it is done waiting
+     * @return whether the wait was interrupted
+     */
+    private boolean waitQuietly() {
+        try {
+            wait();
+            return false;
+        } catch (InterruptedException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Write out everything still in the buffer and stop the background thread
+     * @throws IOException if the trace could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        // the writer must not be closed while the background thread still writes to it, so an interrupt does not end
+        // the join early, it is restored once the thread is gone
+        boolean interrupted = false;
+        while (WRITER_THREAD.isAlive()) {
+            try {
+                WRITER_THREAD.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (CLOSE_WRITER) {
+            WRITER.close();
+        } else {
+            WRITER.flush();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: AugmentingPathSearch API, a reusable Breadth First
+                Search for finding augmenting paths
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * AugmentingPathSearch API, a Breadth First Search over the residual network that can be run again and again
+ * without allocating anything, all of its arrays are created once for a given number of vertices
+ * Instead of clearing a visited array before each search, every search gets a new epoch number and a vertex counts as
+ * visited only when its stamp equals the current epoch
+ * The queue is a plain int array, each vertex enters it at most once per search so V slots are always enough
+ * The search stops as soon as the target is reached, the rest of the network is not needed for the path
+ * A minimum residual capacity can be given, so that capacity scaling only follows edges that can still carry its
+ * current scaling step
+ * The marks, queue and counters are shared with the subclasses, so a search that replaces the expansion reuses them
+ * instead of allocating its own
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class AugmentingPathSearch {
+    protected final int VERTICES;       // number of vertices the search was created for
+    protected final int[] VISITED;      // epoch at which each vertex was last visited
+    protected final int[] LEVEL;        // distance of each visited vertex from the source
+    protected final int[] QUEUE;        // array backed queue of vertices to expand
+    protected int epoch;                // number of the current search
+    protected long edgesExamined;       // edges looked at over all searches, to compare searches by
+    protected long searches;            // number of searches run
+    protected long verticesDequeued;    // vertices taken off the queue over all searches
+
+    /**
+     * Initialize a search for networks of V vertices
+     * @param V - number of vertices in the network
+     * @throws IllegalArgumentException if vertex total is negative
+     */
+    public AugmentingPathSearch(int V) {
+        if (V < 0) {
+            throw new IllegalArgumentException("[ERROR] --> Negative Vertices not allowed");
+        }
+        this.VERTICES = V;
+        this.VISITED = new int[V];
+        this.LEVEL = new int[V];
+        this.QUEUE = new int[V];
+    }
+
+    /**
+     * Find a shortest augmenting path in the residual network
+     * @param flowNetwork - which flow network
+     * @param source - network source
+     * @param target - network sink
+     * @param edgeTo - vertex path, edgeTo[v] is the edge used to reach v, only valid for visited vertices
+     * @return whether there is another path or not
+     * @throws IllegalArgumentException if the network has a different number of vertices than the search
+     */
+    public boolean search(FlowNetwork flowNetwork, int source, int target, FlowEdge[] edgeTo) {
+        return search(flowNetwork, source, target, edgeTo, 1);
+    }
+
+    /**
+     * Find a shortest augmenting path whose every edge has a residual capacity of at least minResidual
+     * @param flowNetwork - which flow network
+     * @param source - network source
+     * @param target - network sink
+     * @param edgeTo - vertex path, edgeTo[v] is the edge used to reach v, only valid for visited vertices
+     * @param minResidual - smallest residual capacity an edge of the path may have, 1 for any augmenting path
+     * @return whether there is such a path or not
+     * @throws IllegalArgumentException if the network has a different number of vertices than the search
+     */
+    public boolean search(FlowNetwork flowNetwork, int source, int target, FlowEdge[] edgeTo, int minResidual) {
+        validNetwork(flowNetwork.getNumberOfVertices());
+        nextEpoch();
+        searches++;
+        int head = 0;
+        int tail = 0;
+        visit(source, 0);
+        QUEUE[tail++] = source;
+
+        while (head < tail) {
+            int vertexFrom = QUEUE[head++];
+            int nextLevel = LEVEL[vertexFrom] + 1;
+            // indexed loop, so that no iterator is created per vertex
+            ArrayList<FlowEdge> adjacent = flowNetwork.getAdjacent(vertexFrom);
+            for (int i = 0; i < adjacent.size(); i++) {
+                FlowEdge edge = adjacent.get(i);
+                int vertexTo = edge.otherEnd(vertexFrom);
+                if (VISITED[vertexTo] != epoch && edge.residualCapacity(vertexTo) >= minResidual) {
+                    edgeTo[vertexTo] = edge;
+                    visit(vertexTo, nextLevel);
+                    if (vertexTo == target) {
+                        edgesExamined += i + 1;
+                        verticesDequeued += head;
+                        return true;
+                    }
+                    QUEUE[tail++] = vertexTo;
+                }
+            }
+            edgesExamined += adjacent.size();
+        }
+        verticesDequeued += head;
+        return false;
+    }
+
+    /**
+     * Find a shortest augmenting path in the residual network of a compact flow network
+     * @param flowNetwork - which compact flow network
+     * @param source - network source
+     * @param target - network sink
+     * @param arcTo - arc path, arcTo[v] is the arc used to reach v, only valid for visited vertices
+     * @return whether there is another path or not
+     * @throws IllegalArgumentException if the network has a different number of vertices than the search
+     */
+    public boolean search(CompactFlowNetwork flowNetwork, int source, int target, int[] arcTo) {
+        return search(flowNetwork, source, target, arcTo, 1);
+    }
+
+    /**
+     * Find a shortest augmenting path of a compact flow network whose every arc has a residual capacity of at least
+     * minResidual
+     * @param flowNetwork - which compact flow network
+     * @param source - network source
+     * @param target - network sink
+     * @param arcTo - arc path, arcTo[v] is the arc used to reach v, only valid for visited vertices
+     * @param minResidual - smallest residual capacity an arc of the path may have, 1 for any augmenting path
+     * @return whether there is such a path or not
+     * @throws IllegalArgumentException if the network has a different number of vertices than the search
+     */
+    public boolean search(CompactFlowNetwork flowNetwork, int source, int target, int[] arcTo, int minResidual) {
+        validNetwork(flowNetwork.getNumberOfVertices());
+        nextEpoch();
+        searches++;
+        int head = 0;
+        int tail = 0;
+        visit(source, 0);
+        QUEUE[tail++] = source;
+
+        while (head < tail) {
+            int vertexFrom = QUEUE[head++];
+            int nextLevel = LEVEL[vertexFrom] + 1;
+            int first = flowNetwork.firstArc(vertexFrom);
+            int end = flowNetwork.endArc(vertexFrom);
+            for (int arc = first; arc < end; arc++) {
+                int vertexTo = flowNetwork.head(arc);
+                if (VISITED[vertexTo] != epoch && flowNetwork.residualCapacity(arc) >= minResidual) {
+                    arcTo[vertexTo] = arc;
+                    visit(vertexTo, nextLevel);
+                    if (vertexTo == target) {
+                        edgesExamined += arc - first + 1;
+                        verticesDequeued += head;
+                        return true;
+                    }
+                    QUEUE[tail++] = vertexTo;
+                }
+            }
+            edgesExamined += end - first;
+        }
+        verticesDequeued += head;
+        return false;
+    }
+
+    /**
+     * @param vertex - which vertex
+     * @return whether the vertex was reached by the last search
+     */
+    public boolean isVisited(int vertex) {
+        return VISITED[vertex] == epoch;
+    }
+
+    /**
+     * @param vertex - which vertex
+     * @return distance of the vertex from the source in the last search, only valid for visited vertices
+     */
+    public int getLevel(int vertex) {
+        return LEVEL[vertex];
+    }
+
+    /**
+     * @return edges (arcs for a compact network) looked at over all searches so far
+     */
+    public long getEdgesExamined() {
+        return edgesExamined;
+    }
+
+    /**
+     * @return number of searches run so far
+     */
+    public long getSearches() {
+        return searches;
+    }
+
+    /**
+     * @return vertices taken off the queue over all searches so far
+     */
+    public long getVerticesDequeued() {
+        return verticesDequeued;
+    }
+
+    /**
+     * Mark a vertex as visited in the current search
+     * @param vertex - which vertex
+     * @param level - its distance from the source
+     */
+    protected void visit(int vertex, int level) {
+        VISITED[vertex] = epoch;
+        LEVEL[vertex] = level;
+    }
+
+    /**
+     * Start a new search, only when the epoch counter wraps around do the stamps need clearing
+     */
+    protected void nextEpoch() {
+        epoch++;
+        if (epoch == 0) {
+            Arrays.fill(VISITED, 0);
+            epoch = 1;
+        }
+    }
+
+    /**
+     * network validation
+     * @param vertices - number of vertices of the network being searched
+     * @throws IllegalArgumentException if it is not the number this search was created for
+     */
+    protected void validNetwork(int vertices) {
+        if (vertices != VERTICES) {
+            throw new IllegalArgumentException("[ERROR] --> Search was created for " + VERTICES + " vertices, not "
+                    + vertices);
+        }
+    }
+}
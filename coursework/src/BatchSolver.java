@@ -0,0 +1,350 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: BatchSolver API, parses and solves many network
+                files at once on a bounded pool of threads
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * BatchSolver API, which solves many independent network files concurrently and reports one result per file
+ * Every file is read and solved on its own by one of a fixed number of worker threads, so throughput grows with the
+ * number of cores while memory stays bounded by the number of networks alive at a time
+ * Memory is the scarcer resource for large files, so besides the thread bound there is a memory budget: before a file
+ * is handed to a worker its network size is estimated from the file and that many megabytes are taken from a
+ * Semaphore, they are given back once the network is solved and dropped. When the budget is used up no further file
+ * is started until a running one finishes, a file larger than the whole budget runs on its own
+ * Results are written in the order the files were given, as CSV or JSON
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class BatchSolver {
+    // bytes of FlowNetwork per edge (a FlowEdge and two list slots) and per vertex (an adjacency list), measured
+    private static final int BYTES_PER_EDGE = 64;
+    private static final int BYTES_PER_VERTEX = 64;
+    // the shortest possible edge line of a text file, "0 1 1\n", so text files are never underestimated
+    private static final int MIN_BYTES_PER_LINE = 6;
+
+    private final int THREADS;          // number of worker threads
+    private final int MEMORY_MB;        // megabytes of networks allowed in memory at once
+    private final String SOLVER;        // "edmondscarp" or "scaling"
+
+    /**
+     * Result of solving one file
+     */
+    public static class Result {
+        private final String file;
+        private int vertices;
+        private int edges;
+        private int flowValue;
+        private double loadMillis;
+        private double solveMillis;
+        private String error;           // null when the file was solved
+
+        Result(String file) {
+            this.file = file;
+        }
+
+        /**
+         * @return which file was solved
+         */
+        public String getFile() {
+            return file;
+        }
+
+        /**
+         * @return max flow of the file, only valid when there is no error
+         */
+        public int getFlowValue() {
+            return flowValue;
+        }
+
+        /**
+         * @return why the file could not be solved, or null if it was
+         */
+        public String getError() {
+            return error;
+        }
+    }
+
+    /**
+     * @param threads - number of worker threads
+     * @param memoryMb - megabytes of networks allowed in memory at once
+     * @param solver - "edmondscarp" or "scaling", the same solvers Main offers
+     * @throws IllegalArgumentException if threads or memoryMb are not positive, or the solver is unknown
+     */
+    public BatchSolver(int threads, int memoryMb, String solver) {
+        if (threads < 1 || memoryMb < 1) {
+            throw new IllegalArgumentException("[ERROR] --> Need at least one thread and 1 MB of memory");
+        }
+        if (!solver.equals("edmondscarp") && !solver.equals("scaling")) {
+            throw new IllegalArgumentException("[ERROR] --> Unknown solver " + solver
+                    + ", expected edmondscarp or scaling");
+        }
+        this.THREADS = threads;
+        this.MEMORY_MB = memoryMb;
+        this.SOLVER = solver;
+    }
+
+    /**
+     * Solve every file, at most THREADS at a time and within the memory budget
+     * @param files - which files to solve, binary or in the FileParser format
+     * @return one result per file, in the same order
+     * @throws InterruptedException if interrupted while waiting for memory or results
+     */
+    public List<Result> solveAll(List<String> files) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+        final Semaphore memory = new Semaphore(MEMORY_MB);
+        List<Future<Result>> futures = new ArrayList<>();
+        try {
+            for (final String file : files) {
+                // backpressure, the next file is only started once its network fits in the budget
+                final int permits = Math.min(MEMORY_MB, estimateMegabytes(file));
+                memory.acquire(permits);
+                try {
+                    futures.add(workers.submit(new Callable<Result>() {
+                        @Override
+                        public Result call() {
+                            try {
+                                return solve(file);
+                            } finally {
+                                memory.release(permits);
+                            }
+                        }
+                    }));
+                } catch (RuntimeException e) {
+                    memory.release(permits);
+                    throw e;
+                }
+            }
+
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    // solve catches everything it expects, so this is an Error such as running out of memory
+                    throw new IllegalStateException("[ERROR] --> batch worker failed", e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Read and solve one file, any problem with the file is recorded in the result instead of thrown
+     * @param file - which file
+     * @return its result
+     */
+    private Result solve(String file) {
+        Result result = new Result(file);
+        try {
+            long start = System.nanoTime();
+            FlowNetwork flowNetwork = FlowNetwork.fromFile(file);
+            result.vertices = flowNetwork.getNumberOfVertices();
+            result.edges = flowNetwork.getNumberOfEdges();
+
+            // as in Main, the source is 0 and the sink the last vertex unless a binary file says otherwise
+            int source = 0;
+            int sink = flowNetwork.getNumberOfVertices() - 1;
+            if (BinaryGraphFile.isBinary(file)) {
+                BinaryGraphFile header = new BinaryGraphFile(file);
+                source = header.getSource();
+                sink = header.getSink();
+            }
+            long loaded = System.nanoTime();
+            result.loadMillis = (loaded - start) / 1e6;
+
+            if (SOLVER.equals("scaling")) {
+                result.flowValue = new CapacityScaling(flowNetwork, source, sink).getFlowValue();
+            } else {
+                result.flowValue = new EdmondsCarp(flowNetwork, source, sink).getFlowValue();
+            }
+            result.solveMillis = (System.nanoTime() - loaded) / 1e6;
+        } catch (FileNotFoundException e) {
+            result.error = "File could not be found!";
+        } catch (Exception e) {
+            result.error = e.getMessage() == null ? e.toString() : e.getMessage();
+        }
+        return result;
+    }
+
+    /**
+     * Estimate how many megabytes the network of a file takes once loaded
+     * @param file - which file
+     * @return the estimate, at least 1
+     */
+    private static int estimateMegabytes(String file) {
+        long vertices = 0;
+        long edges;
+        try {
+            if (BinaryGraphFile.isBinary(file)) {
+                BinaryGraphFile header = new BinaryGraphFile(file);
+                vertices = header.getVerticesTotal();
+                edges = header.getEdgesTotal();
+            } else {
+                edges = new File(file).length() / MIN_BYTES_PER_LINE;
+            }
+        } catch (Exception e) {
+            // the worker reports the problem with the file, it takes next to no memory
+            return 1;
+        }
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, networkBytes(vertices, edges) >> 20));
+    }
+
+    /**
+     * Estimate how many bytes a FlowNetwork takes
+     * @param vertices - number of vertices of the network
+     * @param edges - number of edges of the network
+     * @return the estimate
+     */
+    static long networkBytes(long vertices, long edges) {
+        return edges * BYTES_PER_EDGE + vertices * BYTES_PER_VERTEX;
+    }
+
+    /**
+     * Find the files to solve
+     * @param pattern - a directory, all of whose files are taken, or a glob such as "testFiles/ladder_*.txt"
+     * @return the matching regular files, sorted by path
+     * @throws IOException if a directory cannot be read
+     */
+    public static List<String> findFiles(String pattern) throws IOException {
+        final List<String> files = new ArrayList<>();
+        Path directory = Paths.get(pattern);
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory)) {
+                for (Path path : paths) {
+                    if (Files.isRegularFile(path)) {
+                        files.add(path.toString());
+                    }
+                }
+            }
+        } else {
+            // walk from the last directory before the first glob character, matching the whole path
+            int glob = firstGlobCharacter(pattern);
+            int slash = Math.max(pattern.lastIndexOf('/', glob), pattern.lastIndexOf(File.separatorChar, glob));
+            Path root = Paths.get(slash < 0 ? "." : pattern.substring(0, slash + 1));
+            final PathMatcher matcher = FileSystems.getDefault().getPathMatcher(
+                    "glob:" + (slash < 0 ? "./" + pattern : pattern));
+            if (Files.isDirectory(root)) {
+                Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(Path path, BasicFileAttributes attributes) {
+                        if (attributes.isRegularFile() && matcher.matches(path)) {
+                            files.add(path.toString());
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * @param pattern - a path that may contain glob characters
+     * @return index of the first glob character, or the length of the pattern if there is none
+     */
+    private static int firstGlobCharacter(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '{') {
+                return i;
+            }
+        }
+        return pattern.length();
+    }
+
+    /**
+     * Write the results as CSV, one line per file after a header line
+     * @param results - results to write
+     * @param out - where to write them
+     */
+    public static void writeCsv(List<Result> results, PrintWriter out) {
+        out.println("file,vertices,edges,max_flow,load_ms,solve_ms,error");
+        for (Result result : results) {
+            out.println(csv(result.file) + "," + result.vertices + "," + result.edges + ","
+                    + (result.error == null ? String.valueOf(result.flowValue) : "") + ","
+                    + String.format(Locale.ROOT, "%.3f,%.3f", result.loadMillis, result.solveMillis) + ","
+                    + (result.error == null ? "" : csv(result.error)));
+        }
+    }
+
+    /**
+     * Write the results as a JSON array, one object per file
+     * @param results - results to write
+     * @param out - where to write them
+     */
+    public static void writeJson(List<Result> results, PrintWriter out) {
+        out.println("[");
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            out.print("  {\"file\": " + json(result.file) + ", \"vertices\": " + result.vertices
+                    + ", \"edges\": " + result.edges
+                    + ", \"maxFlow\": " + (result.error == null ? String.valueOf(result.flowValue) : "null")
+                    + String.format(Locale.ROOT, ", \"loadMs\": %.3f, \"solveMs\": %.3f", result.loadMillis,
+                            result.solveMillis)
+                    + ", \"error\": " + (result.error == null ? "null" : json(result.error)) + "}");
+            out.println(i + 1 < results.size() ? "," : "");
+        }
+        out.println("]");
+    }
+
+    /**
+     * @param value - a CSV field
+     * @return the field, quoted if it holds a comma, quote or line break
+     */
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * @param value - a JSON string value
+     * @return the value quoted and escaped
+     */
+    private static String json(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
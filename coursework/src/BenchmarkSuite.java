@@ -0,0 +1,380 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: BenchmarkSuite API, measures parse, build and solve
+                times over the bridge and ladder test families
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BenchmarkSuite API, the performance analysis for the bridge_1..9 and ladder_1..9 families
+ * Every stage (parsing, building the FlowNetwork and each solver) is measured in the same way,
+ * some warmup iterations first so that the JIT has compiled the code, then timed measurement iterations
+ * Each iteration runs the stage for a fixed amount of time and reports ops/s, the bytes allocated per op and the
+ * allocation rate, which are read from the threads allocation counter
+ * Inputs that an op changes (a network that a solver fills with flow) are prepared before the timer starts
+ * ParallelPushRelabel is swept over 1, 2, 4.. threads up to the thread count, its bytes per op only count the
+ * calling thread and not the workers
+ * Once a family is done, the growth exponent of each stage is fitted over the doubling series, it is the k in
+ * time ~ V^k, so 1 means linear and 2 quadratic
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class BenchmarkSuite {
+    private static final int BATCH = 8;     // inputs prepared ahead of each timed batch of ops
+
+    private final int WARMUP_ITERATIONS;
+    private final int MEASURE_ITERATIONS;
+    private final long ITERATION_NANOS;
+    private final int MAX_THREADS;
+    private final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * A stage of the pipeline that can be benchmarked
+     */
+    private interface Stage {
+        /**
+         * @param file - network file the stage runs on
+         * @param parsed - the same file already parsed, so that preparing does not read the file every time
+         * @return a fresh input for one op, built outside of the timer
+         */
+        Object prepare(String file, FastFileParser parsed);
+
+        /**
+         * @param input - an input from prepare
+         * @return something derived from the result, so that the work cannot be optimised away
+         * @throws Exception if the stage fails
+         */
+        long run(Object input) throws Exception;
+    }
+
+    /**
+     * Result of measuring one stage on one file
+     */
+    private static class Result {
+        double opsPerSecond;
+        double bytesPerOp;
+        double allocationMbPerSecond;
+    }
+
+    /**
+     * Sweeps ParallelPushRelabel up to as many threads as there are processors
+     * @param warmupIterations - iterations run before measuring
+     * @param measureIterations - iterations measured
+     * @param iterationMillis - how long each iteration runs for
+     */
+    public BenchmarkSuite(int warmupIterations, int measureIterations, long iterationMillis) {
+        this(warmupIterations, measureIterations, iterationMillis, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param warmupIterations - iterations run before measuring
+     * @param measureIterations - iterations measured
+     * @param iterationMillis - how long each iteration runs for
+     * @param maxThreads - largest thread count ParallelPushRelabel is swept up to
+     */
+    public BenchmarkSuite(int warmupIterations, int measureIterations, long iterationMillis, int maxThreads) {
+        if (warmupIterations < 0 || measureIterations < 1 || iterationMillis < 1) {
+            throw new IllegalArgumentException("[ERROR] --> Need at least one measured iteration of at least 1 ms");
+        }
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("[ERROR] --> Need at least one thread");
+        }
+        this.WARMUP_ITERATIONS = warmupIterations;
+        this.MEASURE_ITERATIONS = measureIterations;
+        this.ITERATION_NANOS = iterationMillis * 1_000_000L;
+        this.MAX_THREADS = maxThreads;
+    }
+
+    /**
+     * The stages that are benchmarked, in the order they are reported
+     * @param maxThreads - largest thread count ParallelPushRelabel is run with
+     * @return stage name to stage
+     */
+    private static Map<String, Stage> stages(int maxThreads) {
+        Map<String, Stage> stages = new LinkedHashMap<>();
+        stages.put("parse FileParser", new Stage() {
+            @Override
+            public Object prepare(String file, FastFileParser parsed) {
+                return file;
+            }
+
+            @Override
+            public long run(Object input) throws Exception {
+                return new FileParser((String) input).getEdgesTotal();
+            }
+        });
+        stages.put("parse FastFileParser", new Stage() {
+            @Override
+            public Object prepare(String file, FastFileParser parsed) {
+                return file;
+            }
+
+            @Override
+            public long run(Object input) throws Exception {
+                return new FastFileParser((String) input).getEdgesTotal();
+            }
+        });
+        stages.put("build FlowNetwork", new Stage() {
+            @Override
+            public Object prepare(String file, FastFileParser parsed) {
+                return parsed;
+            }
+
+            @Override
+            public long run(Object input) {
+                return new FlowNetwork((FastFileParser) input).getNumberOfEdges();
+            }
+        });
+        stages.put("solve EdmondsCarp", new Stage() {
+            @Override
+            public Object prepare(String file, FastFileParser parsed) {
+                return new FlowNetwork(parsed);
+            }
+
+            @Override
+            public long run(Object input) {
+                FlowNetwork network = (FlowNetwork) input;
+                return new EdmondsCarp(network, 0, network.getNumberOfVertices() - 1).getFlowValue();
+            }
+        });
+        stages.put("solve Dinic", new Stage() {
+            @Override
+            public Object prepare(String file, FastFileParser parsed) {
+                return new FlowNetwork(parsed);
+            }
+
+            @Override
+            public long run(Object input) {
+                FlowNetwork network = (FlowNetwork) input;
+                return new Dinic(network, 0, network.getNumberOfVertices() - 1).getFlowValue();
+            }
+        });
+        stages.put("solve PushRelabel", new Stage() {
+            @Override
+            public Object prepare(String file, FastFileParser parsed) {
+                return new FlowNetwork(parsed);
+            }
+
+            @Override
+            public long run(Object input) {
+                FlowNetwork network = (FlowNetwork) input;
+                return new PushRelabel(network, 0, network.getNumberOfVertices() - 1).getFlowValue();
+            }
+        });
+        stages.put("solve Dinic (compact)", new Stage() {
+            @Override
+            public Object prepare(String file, FastFileParser parsed) {
+                return new CompactFlowNetwork(parsed);
+            }
+
+            @Override
+            public long run(Object input) {
+                CompactFlowNetwork network = (CompactFlowNetwork) input;
+                return new Dinic(network, 0, network.getNumberOfVertices() - 1).getFlowValue();
+            }
+        });
+        // doubling thread counts, and the largest one even when it is not a power of two
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            final int workers = threads;
+            stages.put("solve ParallelPushRelabel x" + threads, new Stage() {
+                @Override
+                public Object prepare(String file, FastFileParser parsed) {
+                    return new CompactFlowNetwork(parsed);
+                }
+
+                @Override
+                public long run(Object input) {
+                    CompactFlowNetwork network = (CompactFlowNetwork) input;
+                    return new ParallelPushRelabel(network, 0, network.getNumberOfVertices() - 1, workers)
+                            .getFlowValue();
+                }
+            });
+            if (threads == maxThreads) {
+                break;
+            }
+        }
+        return stages;
+    }
+
+    /**
+     * Measure one stage on one file
+     * @param stage - what to run
+     * @param file - network file to run it on
+     * @return the averaged measurement iterations
+     * @throws Exception if the stage fails
+     */
+    private Result measure(Stage stage, String file) throws Exception {
+        FastFileParser parsed = new FastFileParser(file);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iteration(stage, file, parsed);
+        }
+
+        Result total = new Result();
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            Result result = iteration(stage, file, parsed);
+            total.opsPerSecond += result.opsPerSecond / MEASURE_ITERATIONS;
+            total.bytesPerOp += result.bytesPerOp / MEASURE_ITERATIONS;
+            total.allocationMbPerSecond += result.allocationMbPerSecond / MEASURE_ITERATIONS;
+        }
+        return total;
+    }
+
+    /**
+     * Run a stage over and over until the iteration time is used up, only the ops themselves are timed
+     * @param stage - what to run
+     * @param file - network file to run it on
+     * @param parsed - the same file already parsed
+     * @return the iterations measurement
+     * @throws Exception if the stage fails
+     */
+    private Result iteration(Stage stage, String file, FastFileParser parsed) throws Exception {
+        long thread = Thread.currentThread().getId();
+        Object[] inputs = new Object[BATCH];
+        long ops = 0;
+        long nanos = 0;
+        long bytes = 0;
+        long blackhole = 0;
+
+        while (nanos < ITERATION_NANOS) {
+            for (int i = 0; i < BATCH; i++) {
+                inputs[i] = stage.prepare(file, parsed);
+            }
+            long allocatedBefore = THREADS.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            for (int i = 0; i < BATCH; i++) {
+                blackhole += stage.run(inputs[i]);
+            }
+            nanos += System.nanoTime() - start;
+            bytes += THREADS.getThreadAllocatedBytes(thread) - allocatedBefore;
+            ops += BATCH;
+        }
+
+        Result result = new Result();
+        result.opsPerSecond = ops / (nanos / 1e9);
+        result.bytesPerOp = (double) bytes / ops;
+        result.allocationMbPerSecond = bytes / (nanos / 1e9) / (1 << 20);
+        // the sum is never negative, it is only checked so that the results are used
+        if (blackhole < 0) {
+            System.out.println(blackhole);
+        }
+        return result;
+    }
+
+    /**
+     * Benchmark every stage over one family of files, then fit the growth exponent of each stage
+     * @param directory - directory holding the test files
+     * @param family - file name prefix, "bridge" or "ladder"
+     * @param sizes - largest file number, files are family_1.txt up to family_sizes.txt
+     * @throws Exception if a file cannot be read or a stage fails
+     */
+    public void runFamily(String directory, String family, int sizes) throws Exception {
+        Map<String, Stage> stages = stages(MAX_THREADS);
+        Map<String, List<double[]>> series = new LinkedHashMap<>();
+
+        System.out.println(String.format("%-8s %8s %8s  %-32s %14s %12s %14s %12s", "file", "vertices", "edges",
+                "stage", "ops/s", "ms/op", "B/op", "alloc MB/s"));
+        for (int size = 1; size <= sizes; size++) {
+            String file = directory + File.separator + family + "_" + size + ".txt";
+            FlowNetwork network = FlowNetwork.fromFile(file);
+            int vertices = network.getNumberOfVertices();
+            int edges = network.getNumberOfEdges();
+
+            for (Map.Entry<String, Stage> stage : stages.entrySet()) {
+                Result result = measure(stage.getValue(), file);
+                double msPerOp = 1000.0 / result.opsPerSecond;
+                System.out.println(String.format("%-8s %8d %8d  %-32s %14.1f %12.4f %14.0f %12.1f",
+                        family + "_" + size, vertices, edges, stage.getKey(), result.opsPerSecond, msPerOp,
+                        result.bytesPerOp, result.allocationMbPerSecond));
+
+                if (!series.containsKey(stage.getKey())) {
+                    series.put(stage.getKey(), new ArrayList<double[]>());
+                }
+                series.get(stage.getKey()).add(new double[] {vertices, msPerOp});
+            }
+        }
+
+        System.out.println();
+        System.out.println("Growth exponent over " + family + "_1.." + sizes + " (time ~ V^k)");
+        for (Map.Entry<String, List<double[]>> stage : series.entrySet()) {
+            System.out.println(String.format("  %-32s k = %.2f", stage.getKey(), growthExponent(stage.getValue())));
+        }
+        System.out.println();
+    }
+
+    /**
+     * Least squares slope of log(time) against log(vertices)
+     * The smallest files are dominated by fixed costs, so only the upper half of the series is fitted
+     * @param points - (vertices, ms per op) of each file in the series
+     * @return the fitted exponent
+     */
+    static double growthExponent(List<double[]> points) {
+        int first = points.size() / 2;
+        int n = points.size() - first;
+        double sumX = 0;
+        double sumY = 0;
+        double sumXY = 0;
+        double sumXX = 0;
+        for (int i = first; i < points.size(); i++) {
+            double x = Math.log(points.get(i)[0]);
+            double y = Math.log(points.get(i)[1]);
+            sumX += x;
+            sumY += y;
+            sumXY += x * y;
+            sumXX += x * x;
+        }
+        double denominator = n * sumXX - sumX * sumX;
+        return denominator == 0 ? Double.NaN : (n * sumXY - sumX * sumY) / denominator;
+    }
+
+    /**
+     * Runs the suite over both families
+     * @param args - "--warmup=N" (default 5), "--iterations=N" (default 5), "--time=ms" per iteration (default 200),
+     *             "--files=directory" (default testFiles), "--sizes=N" largest file number (default 9),
+     *             "--threads=N" largest ParallelPushRelabel thread count (default the number of processors)
+     */
+    public static void main(String[] args) {
+        int warmup = 5;
+        int iterations = 5;
+        long millis = 200;
+        int sizes = 9;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String directory = "testFiles";
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--warmup=")) {
+                    warmup = Integer.parseInt(arg.substring("--warmup=".length()));
+                } else if (arg.startsWith("--iterations=")) {
+                    iterations = Integer.parseInt(arg.substring("--iterations=".length()));
+                } else if (arg.startsWith("--time=")) {
+                    millis = Long.parseLong(arg.substring("--time=".length()));
+                } else if (arg.startsWith("--files=")) {
+                    directory = arg.substring("--files=".length());
+                } else if (arg.startsWith("--sizes=")) {
+                    sizes = Integer.parseInt(arg.substring("--sizes=".length()));
+                } else if (arg.startsWith("--threads=")) {
+                    threads = Integer.parseInt(arg.substring("--threads=".length()));
+                } else {
+                    System.out.println("[ERROR] --> Unknown option " + arg);
+                    return;
+                }
+            }
+
+            BenchmarkSuite suite = new BenchmarkSuite(warmup, iterations, millis, threads);
+            suite.runFamily(directory, "bridge", sizes);
+            suite.runFamily(directory, "ladder", sizes);
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.out.println("[ERROR] --> stopping program...");
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: BinaryGraphFile API, a compact binary form of the
+                text network files, with a converter and a loader
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * BinaryGraphFile API, which reads and writes networks in a binary format, so that a network that is solved over and
+ * over does not have to be parsed from text every time
+ * The file is memory mapped and the edges are read as plain ints, there is no per edge parsing at all
+ * Also provides readAny, which works out by itself whether a file is binary or text, so callers accept both
+ * Edge costs are only part of the text format, a text file with costs cannot be converted
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class BinaryGraphFile {
+    public static final int MAGIC = 0x574F4C46;        // "FLOW" when read as little endian bytes
+    public static final int VERSION = 1;
+    private static final int HEADER_INTS = 6;           // magic, version, vertices, edges, source, sink
+    private static final int EDGE_INTS = 3;             // from, to, capacity
+    private static final int EDGES_PER_MAP = 1 << 26;   // edges mapped at a time, keeps every mapping below 2 GiB
+
+    private final String FILE;  // path of the binary file
+    private final int vertices; // Number of vertices
+    private final int edges;    // Number of edges
+    private final int source;   // source of Network
+    private final int sink;     // target of Network
+
+    /**
+     * Open a binary network file and read its header, the edges are only read by read(sink)
+     * @param file - which file to open
+     * @throws Exception - thrown if specified file cannot be found, or is not a binary network file
+     */
+    public BinaryGraphFile(String file) throws Exception {
+        this.FILE = file;
+        try (FileChannel channel = open(file)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_INTS * 4).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete or the file ends
+            }
+            header.flip();
+            if (header.remaining() < HEADER_INTS * 4 || header.getInt() != MAGIC) {
+                throw new Exception("[ERROR] --> file is not a binary network file");
+            }
+            if (header.getInt() != VERSION) {
+                throw new Exception("[ERROR] --> binary network file version is not supported");
+            }
+            this.vertices = header.getInt();
+            this.edges = header.getInt();
+            this.source = header.getInt();
+            this.sink = header.getInt();
+
+            if (vertices < 0 || edges < 0) {
+                throw new Exception("[ERROR] --> binary network file has a negative vertex or edge count");
+            }
+            if (channel.size() != (HEADER_INTS + (long) EDGE_INTS * edges) * 4) {
+                throw new Exception("[ERROR] --> binary network file is truncated or has trailing data");
+            }
+        }
+    }
+
+    /**
+     * Hand the vertex count and every edge, in file order, to a sink
+     * The edges are read through memory mapped int views of the file
+     * @param edgeSink - where to send the vertex count and edges
+     * @throws IOException if the file cannot be read
+     */
+    public void read(EdgeSink edgeSink) throws IOException {
+        edgeSink.setVertices(vertices);
+        try (FileChannel channel = open(FILE)) {
+            long position = HEADER_INTS * 4L;
+            int[] block = new int[EDGE_INTS * Math.min(edges, 1 << 16)];
+            for (long first = 0; first < edges; first += EDGES_PER_MAP) {
+                int count = (int) Math.min(EDGES_PER_MAP, edges - first);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, count * (long) EDGE_INTS * 4);
+                IntBuffer ints = mapped.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+
+                // bulk copy a block of edges at a time out of the mapping, then hand them over
+                while (ints.hasRemaining()) {
+                    int length = Math.min(block.length, ints.remaining());
+                    ints.get(block, 0, length);
+                    for (int i = 0; i < length; i += EDGE_INTS) {
+                        edgeSink.addEdge(block[i], block[i + 1], block[i + 2]);
+                    }
+                }
+                position += count * (long) EDGE_INTS * 4;
+            }
+        }
+    }
+
+    /**
+     * Convert a text network file to the binary format
+     * The text file is streamed, so the edges are never all held in memory
+     * @param textFile - which file to read, in the FileParser format
+     * @param binaryFile - which file to write, it is created or replaced once complete, it may be the text file itself
+     * @throws Exception - thrown if the text file cannot be found or is not in the expected format, or on write failure
+     */
+    public static void convert(String textFile, String binaryFile) throws Exception {
+        BinaryWriter writer = new BinaryWriter(binaryFile);
+        try {
+            FastFileParser.parse(textFile, writer);
+            writer.finish();
+        } catch (Exception e) {
+            // never leave a half written file behind
+            writer.abort();
+            throw e;
+        }
+    }
+
+    /**
+     * Stream any network file into a sink, binary files are recognised by their first four bytes
+     * @param file - which file to read, binary or in the FileParser format
+     * @param edgeSink - where to send the vertex count and edges
+     * @throws Exception - thrown if specified file cannot be found, or file not in expected format
+     */
+    public static void readAny(String file, EdgeSink edgeSink) throws Exception {
+        if (isBinary(file)) {
+            new BinaryGraphFile(file).read(edgeSink);
+        } else {
+            FastFileParser.parse(file, edgeSink);
+        }
+    }
+
+    /**
+     * @param file - which file to check
+     * @return whether the file starts with the binary format's magic number
+     * @throws IOException if the file cannot be read, FileNotFoundException if it is not there
+     */
+    public static boolean isBinary(String file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            // the magic is stored little endian, DataInputStream reads big endian
+            return Integer.reverseBytes(in.readInt()) == MAGIC;
+        } catch (EOFException e) {
+            // shorter than the magic number, so it can only be text
+            return false;
+        }
+    }
+
+    /**
+     * Open a file for reading
+     * @param file - which file
+     * @return the open channel
+     * @throws IOException if the file cannot be opened, FileNotFoundException if it is not there
+     */
+    private static FileChannel open(String file) throws IOException {
+        try {
+            return FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(file);
+        }
+    }
+
+    /**
+     * @return total number of vertices
+     */
+    public int getVerticesTotal() {
+        return this.vertices;
+    }
+
+    /**
+     * @return total edges in the file
+     */
+    public int getEdgesTotal() {
+        return this.edges;
+    }
+
+    /**
+     * @return source vertex of file
+     */
+    public int getSource() {
+        return this.source;
+    }
+
+    /**
+     * @return sink (target) vertex of file
+     */
+    public int getSink() {
+        return this.sink;
+    }
+
+    /**
+     * Overrun toString()
+     * @return what to display when printing the BinaryGraphFile
+     */
+    @Override
+    public String toString() {
+        return "Edges: " + getEdgesTotal() + " " + " Vertices: " + getVerticesTotal() + " Sink: " + getSink()
+                + " Source: " + getSource();
+    }
+
+    /**
+     * EdgeSink that writes the binary format, the edge count in the header is filled in once the last edge is written
+     * Also used by GraphGenerator, which writes generated networks straight to disk
+     * The edges go to a temporary file next to the target, which only replaces the target once it is complete, so the
+     * target may even be the file being read and a failure leaves it as it was
+     */
+    static class BinaryWriter implements EdgeSink {
+        private final File FILE;
+        private final File TEMPORARY;
+        private final OutputStream OUT;
+        private final ByteBuffer RECORD = ByteBuffer.allocate(EDGE_INTS * 4).order(ByteOrder.LITTLE_ENDIAN);
+        private int edges;
+
+        BinaryWriter(String file) throws IOException {
+            this.FILE = new File(file).getAbsoluteFile();
+            this.TEMPORARY = File.createTempFile("network", ".tmp", FILE.getParentFile());
+            this.OUT = new BufferedOutputStream(new FileOutputStream(TEMPORARY), 1 << 16);
+        }
+
+        @Override
+        public void setVertices(int vertices) {
+            // the edge count is not known yet, it is patched in by finish, the text format's source and sink are kept
+            write(MAGIC, VERSION, vertices);
+            write(0, 0, vertices - 1);
+        }
+
+        @Override
+        public void addEdge(int vertexFrom, int vertexTo, int capacity) {
+            write(vertexFrom, vertexTo, capacity);
+            edges++;
+        }
+
+        @Override
+        public void addEdge(int vertexFrom, int vertexTo, int capacity, int cost) {
+            // an edge has no room for a cost, dropping it would silently change min cost flows of the network
+            if (cost != 0) {
+                throw new IllegalArgumentException("[ERROR] --> The binary format has no edge costs, a network with "
+                        + "costs must stay in the text format");
+            }
+            addEdge(vertexFrom, vertexTo, capacity);
+        }
+
+        /**
+         * Write three little endian ints
+         */
+        private void write(int a, int b, int c) {
+            RECORD.clear();
+            RECORD.putInt(a).putInt(b).putInt(c);
+            try {
+                OUT.write(RECORD.array());
+            } catch (IOException e) {
+                throw new IllegalStateException("[ERROR] --> binary network file could not be written", e);
+            }
+        }
+
+        /**
+         * Close the file, fill in the edge count of the header and move it into place
+         * @throws IOException if the file cannot be written
+         */
+        void finish() throws IOException {
+            try {
+                OUT.close();
+                try (RandomAccessFile file = new RandomAccessFile(TEMPORARY, "rw")) {
+                    file.seek(12);
+                    file.writeInt(Integer.reverseBytes(edges));
+                }
+                Files.move(TEMPORARY.toPath(), FILE.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(TEMPORARY.toPath());
+            }
+        }
+
+        /**
+         * Close and delete the temporary file after a failure, the target is left untouched
+         */
+        void abort() {
+            try {
+                OUT.close();
+            } catch (IOException e) {
+                // the file is deleted anyway
+            }
+            TEMPORARY.delete();
+        }
+    }
+}
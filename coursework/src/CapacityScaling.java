@@ -0,0 +1,244 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: CapacityScaling API, will compute required max flow
+                It implements the Ford Fulkerson method, only
+                augmenting along paths that can carry a large flow
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+/**
+ * CapacityScaling API, an alternative to EdmondsCarp for networks that mix many small capacities with a few large ones
+ * The solve runs in phases with a scaling step delta, starting at the largest power of two not above the largest
+ * capacity. In a phase only edges with a residual capacity of at least delta may be used, so every augmenting path
+ * found carries at least delta. Once no such path is left delta is halved, the last phase (delta = 1) is plain
+ * shortest path augmentation and so finishes with the max flow
+ * Small bottlenecks, such as the unit capacity chains of the bridge and ladder networks, are left until the end,
+ * by which time the large edges already carry most of the flow
+ * Edges are used through FlowEdge.residualCapacity and addResidualFlow, just like EdmondsCarp
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class CapacityScaling {
+    private final int VERTICES;         // Number of vertices
+    private int flowValue;              // value of the max flow
+    private int augmentingPaths;        // number of augmenting paths over all phases
+    private int phases;                 // number of scaling steps used
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed flowNetwork
+     * @param flowNetwork - the FlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1 or when source and target
+     * are same
+     */
+    public CapacityScaling(FlowNetwork flowNetwork, int source, int target) {
+        this(flowNetwork, source, target, SolveListener.NONE);
+    }
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed flowNetwork
+     * Every step is reported to the listener, nothing is printed by the solver itself
+     * @param flowNetwork - the FlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @param listener - where to report each step, SolveListener.NONE to skip reporting entirely
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1 or when source and target
+     * are same
+     */
+    public CapacityScaling(FlowNetwork flowNetwork, int source, int target, SolveListener listener) {
+        this.flowValue = 0;
+        this.VERTICES = flowNetwork.getNumberOfVertices();
+
+        // check to see whether source and target are valid vertices
+        validVertex(source);
+        validVertex(target);
+
+        // same source and target no flow
+        if (source == target) {
+            throw new IllegalArgumentException("[ERROR] --> Source and target are the same");
+        }
+
+        boolean tracing = listener != SolveListener.NONE;
+        if (tracing) {
+            listener.onStart(flowNetwork.getNumberOfEdges(), flowNetwork.getNumberOfVertices());
+        }
+
+        long startNanos = System.nanoTime();
+
+        // the largest capacity decides the first scaling step, each edge is seen once from its from vertex
+        int maxCapacity = 0;
+        for (int v = 0; v < VERTICES; v++) {
+            for (FlowEdge edge : flowNetwork.getAdjacent(v)) {
+                if (edge.from() == v) {
+                    maxCapacity = Math.max(maxCapacity, edge.getCapacity());
+                }
+            }
+        }
+
+        FlowEdge[] edgeTo = new FlowEdge[VERTICES];
+        AugmentingPathSearch search = new AugmentingPathSearch(VERTICES);
+        for (int delta = Integer.highestOneBit(maxCapacity); delta > 0; delta /= 2) {
+            phases++;
+            while (search.search(flowNetwork, source, target, edgeTo, delta)) {
+                // every edge of the path has at least delta left, the bottleneck may still be larger
+                int bottleneckCapacity = Integer.MAX_VALUE;
+                for (int v = target; v != source; v = edgeTo[v].otherEnd(v)) {
+                    bottleneckCapacity = Math.min(bottleneckCapacity, edgeTo[v].residualCapacity(v));
+                }
+
+                for (int v = target; v != source; v = edgeTo[v].otherEnd(v)) {
+                    FlowEdge edge = edgeTo[v];
+                    int flowBefore = edge.getFlow();
+                    edge.addResidualFlow(v, bottleneckCapacity);
+                    if (tracing) {
+                        listener.onEdgeAugmented(edge.from(), edge.to(), edge.getCapacity(), flowBefore, edge.getFlow());
+                    }
+                }
+
+                addToFlowValue(bottleneckCapacity, tracing, listener);
+            }
+        }
+
+        SolverMetrics.get().recordSolve("scaling", VERTICES, flowNetwork.getNumberOfEdges(),
+                System.nanoTime() - startNanos, search.getSearches(), search.getEdgesExamined(),
+                search.getVerticesDequeued(), augmentingPaths, flowValue, flowValue);
+
+        if (tracing) {
+            listener.onFinish(flowValue, augmentingPaths);
+        }
+    }
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed compact flowNetwork
+     * Same algorithm as above, the path is held as arc indices instead of FlowEdges
+     * @param flowNetwork - the CompactFlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1 or when source and target
+     * are same
+     */
+    public CapacityScaling(CompactFlowNetwork flowNetwork, int source, int target) {
+        this(flowNetwork, source, target, SolveListener.NONE);
+    }
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed compact flowNetwork
+     * Every step is reported to the listener, nothing is printed by the solver itself
+     * @param flowNetwork - the CompactFlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @param listener - where to report each step, SolveListener.NONE to skip reporting entirely
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1 or when source and target
+     * are same
+     */
+    public CapacityScaling(CompactFlowNetwork flowNetwork, int source, int target, SolveListener listener) {
+        this.flowValue = 0;
+        this.VERTICES = flowNetwork.getNumberOfVertices();
+
+        // check to see whether source and target are valid vertices
+        validVertex(source);
+        validVertex(target);
+
+        // same source and target no flow
+        if (source == target) {
+            throw new IllegalArgumentException("[ERROR] --> Source and target are the same");
+        }
+
+        boolean tracing = listener != SolveListener.NONE;
+        if (tracing) {
+            listener.onStart(flowNetwork.getNumberOfEdges(), flowNetwork.getNumberOfVertices());
+        }
+
+        long startNanos = System.nanoTime();
+        int maxCapacity = 0;
+        for (int edge = 0; edge < flowNetwork.getNumberOfEdges(); edge++) {
+            maxCapacity = Math.max(maxCapacity, flowNetwork.getCapacity(flowNetwork.edgeArc(edge)));
+        }
+
+        int[] arcTo = new int[VERTICES];
+        AugmentingPathSearch search = new AugmentingPathSearch(VERTICES);
+        for (int delta = Integer.highestOneBit(maxCapacity); delta > 0; delta /= 2) {
+            phases++;
+            while (search.search(flowNetwork, source, target, arcTo, delta)) {
+                int bottleneckCapacity = Integer.MAX_VALUE;
+                for (int v = target; v != source; v = flowNetwork.tail(arcTo[v])) {
+                    bottleneckCapacity = Math.min(bottleneckCapacity, flowNetwork.residualCapacity(arcTo[v]));
+                }
+
+                for (int v = target; v != source; v = flowNetwork.tail(arcTo[v])) {
+                    // report the edge as it was given, through its forward arc
+                    int forward = flowNetwork.forwardArc(arcTo[v]);
+                    int flowBefore = flowNetwork.getFlow(forward);
+                    flowNetwork.addResidualFlow(arcTo[v], bottleneckCapacity);
+                    if (tracing) {
+                        listener.onEdgeAugmented(flowNetwork.tail(forward), flowNetwork.head(forward),
+                                flowNetwork.getCapacity(forward), flowBefore, flowNetwork.getFlow(forward));
+                    }
+                }
+
+                addToFlowValue(bottleneckCapacity, tracing, listener);
+            }
+        }
+
+        SolverMetrics.get().recordSolve("scaling", VERTICES, flowNetwork.getNumberOfEdges(),
+                System.nanoTime() - startNanos, search.getSearches(), search.getEdgesExamined(),
+                search.getVerticesDequeued(), augmentingPaths, flowValue, flowValue);
+
+        if (tracing) {
+            listener.onFinish(flowValue, augmentingPaths);
+        }
+    }
+
+    /**
+     * Add the bottleneck of an augmenting path to the flow value and report the path
+     * @param bottleneckCapacity - amount of flow for the path
+     * @param tracing - whether there is a listener to report to
+     * @param listener - where to report the path
+     */
+    private void addToFlowValue(int bottleneckCapacity, boolean tracing, SolveListener listener) {
+        int flowBefore = flowValue;
+        flowValue += bottleneckCapacity;
+        augmentingPaths++;
+
+        if (tracing) {
+            listener.onAugmentingPath(augmentingPaths, bottleneckCapacity, flowBefore, flowValue);
+        }
+    }
+
+    /**
+     * @return graphs max flow
+     */
+    public int getFlowValue() {
+        return flowValue;
+    }
+
+    /**
+     * @return number of augmenting paths over all phases
+     */
+    public int getAugmentingPaths() {
+        return augmentingPaths;
+    }
+
+    /**
+     * @return number of scaling steps used, one per power of two from the largest capacity down to 1
+     */
+    public int getPhases() {
+        return phases;
+    }
+
+    /**
+     * vertex validation
+     * @param vertex - which vertex to validate
+     * @throws IllegalArgumentException if vertex is out of bounds of 0 and V
+     * starts from 0, therefore will go till total-1
+     */
+    private void validVertex(int vertex) {
+        if (vertex < 0 || vertex >= VERTICES) {
+            throw new IllegalArgumentException("[ERROR] --> Illegal vertex choice: It must be less than " + VERTICES +
+                    " and greater than 0");
+        }
+    }
+}
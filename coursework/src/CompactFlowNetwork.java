@@ -0,0 +1,445 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: CompactFlowNetwork API, a primitive array version
+                of FlowNetwork for large networks
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.util.Arrays;
+
+/**
+ * CompactFlowNetwork API, which represents the Graph Network in compressed sparse row (CSR) form
+ * Every edge u->w is stored as two arcs, a forward arc u->w holding the capacity and a reverse arc w->u with capacity 0
+ * The arcs leaving vertex v are the indices OFFSETS[v] up to (not including) OFFSETS[v+1] of the arc arrays
+ * Each arc only costs a few ints (head, capacity, flow, reverse), instead of a FlowEdge object referenced from two lists
+ * The topology is fixed once built, only the flows change
+ * Because of that the topology arrays can be shared: newQuery gives another network over the very same arrays with a
+ * flow array of its own, so any number of solves, each on its own query network, can run at once on one loaded
+ * graph without copying it and without locking
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class CompactFlowNetwork {
+    private final int VERTICES;         // number of vertices in the Network
+    private final int EDGES;            // number of edges in the Network
+    private final int[] OFFSETS;        // first arc of each vertex, OFFSETS[V] is the total number of arcs
+    private final int[] HEADS;          // vertex each arc points to
+    private final int[] CAPACITIES;     // capacity of each arc, reverse arcs have 0
+    private final int[] REVERSE;        // index of the opposite arc of each arc
+    private final int[] EDGE_ARC;       // forward arc of each edge, in the order the edges were given
+    private final int[] flows;          // flow of each arc, a reverse arc always holds the negated flow of its forward arc
+
+    /**
+     * Initialize flow network based on an input file
+     * Since the FileParser is tailored specifically for an expected format
+     * The values are directly obtained from the parser
+     * @param parser - object of FileParser
+     * @throws IllegalArgumentException - if edges or vertices value are less than 0, or an edge is not valid
+     */
+    public CompactFlowNetwork(FileParser parser) {
+        this(parser.getVerticesTotal(), edgeColumn(parser, 0), edgeColumn(parser, 1), edgeColumn(parser, 2));
+    }
+
+    /**
+     * Initialize flow network based on an input file read by the FastFileParser, the parsers arrays are used as they are
+     * @param parser - object of FastFileParser
+     * @throws IllegalArgumentException - if vertices value is less than 0, or an edge is not valid
+     */
+    public CompactFlowNetwork(FastFileParser parser) {
+        this(parser.getVerticesTotal(), parser.getFrom(), parser.getTo(), parser.getCapacity());
+    }
+
+    /**
+     * Initialize a flow network from parallel arrays of edge data, edge i goes from[i]->to[i] with capacity[i]
+     * @param V - number of vertices in the network
+     * @param from - vertex each edge starts at
+     * @param to - vertex each edge goes to
+     * @param capacity - capacity of each edge
+     * @throws IllegalArgumentException if vertex total is negative, the arrays differ in length, or an edge is not valid
+     */
+    public CompactFlowNetwork(int V, int[] from, int[] to, int[] capacity) {
+        this(V, countArcs(V, from, to, capacity), from.length);
+
+        int[] next = firstArcs();
+        for (int i = 0; i < EDGES; i++) {
+            placeEdge(i, from[i], to[i], capacity[i], next);
+        }
+    }
+
+    /**
+     * Initialize a flow network with every arc array allocated but no edges placed yet
+     * @param V - number of vertices in the network
+     * @param offsets - first arc of each vertex, offsets[V] is the total number of arcs
+     * @param edges - number of edges that will be placed
+     */
+    private CompactFlowNetwork(int V, int[] offsets, int edges) {
+        this.VERTICES = V;
+        this.EDGES = edges;
+        this.OFFSETS = offsets;
+
+        int arcs = OFFSETS[V];
+        this.HEADS = new int[arcs];
+        this.CAPACITIES = new int[arcs];
+        this.REVERSE = new int[arcs];
+        this.EDGE_ARC = new int[EDGES];
+        this.flows = new int[arcs];
+    }
+
+    /**
+     * Initialize a network sharing the topology of another, with flows of its own all at 0
+     * @param topology - network whose arrays are shared
+     */
+    private CompactFlowNetwork(CompactFlowNetwork topology) {
+        this.VERTICES = topology.VERTICES;
+        this.EDGES = topology.EDGES;
+        this.OFFSETS = topology.OFFSETS;
+        this.HEADS = topology.HEADS;
+        this.CAPACITIES = topology.CAPACITIES;
+        this.REVERSE = topology.REVERSE;
+        this.EDGE_ARC = topology.EDGE_ARC;
+        this.flows = new int[topology.flows.length];
+    }
+
+    /**
+     * A network for one more solve on the same graph, it shares every topology array with this one and only
+     * allocates its own flow array, so its flows are independent of the flows of this network
+     * Safe to call from several threads at once, the topology is never written after it is built
+     * @return the query network, all flows 0
+     */
+    public CompactFlowNetwork newQuery() {
+        return new CompactFlowNetwork(this);
+    }
+
+    /**
+     * Build a compact flow network while the file is being read, without ever holding the edges in a list or array
+     * The file is streamed twice, the first pass only counts the arcs of each vertex so that every arc array can be
+     * allocated at its final size, the second pass places each edge straight into them
+     * The peak memory while loading is therefore the size of the finished network
+     * @param file - which file to read, binary or in the FileParser format
+     * @return the network of the file
+     * @throws Exception - thrown if specified file cannot be found, file not in expected format, or an edge is not valid
+     */
+    public static CompactFlowNetwork fromFile(String file) throws Exception {
+        long startNanos = System.nanoTime();
+
+        // first pass, count the arcs of each vertex
+        final int[][] offsets = new int[1][];
+        final int[] edges = new int[1];
+        BinaryGraphFile.readAny(file, new EdgeSink() {
+            @Override
+            public void setVertices(int vertices) {
+                if (vertices < 0) {
+                    throw new IllegalArgumentException("[ERROR] --> Negative Vertices not allowed");
+                }
+                offsets[0] = new int[vertices + 1];
+            }
+
+            @Override
+            public void addEdge(int vertexFrom, int vertexTo, int capacity) {
+                validEdge(vertexFrom, vertexTo, capacity, offsets[0].length - 1);
+                offsets[0][vertexFrom + 1]++;
+                offsets[0][vertexTo + 1]++;
+                edges[0]++;
+            }
+        });
+        int vertices = offsets[0].length - 1;
+        for (int v = 0; v < vertices; v++) {
+            offsets[0][v + 1] += offsets[0][v];
+        }
+
+        // second pass, place every edge
+        final CompactFlowNetwork network = new CompactFlowNetwork(vertices, offsets[0], edges[0]);
+        final int[] next = network.firstArcs();
+        final int[] placed = new int[1];
+        BinaryGraphFile.readAny(file, new EdgeSink() {
+            @Override
+            public void setVertices(int vertexTotal) {
+                if (vertexTotal != vertices) {
+                    throw new IllegalArgumentException("[ERROR] --> File changed while it was being read");
+                }
+            }
+
+            @Override
+            public void addEdge(int vertexFrom, int vertexTo, int capacity) {
+                if (placed[0] == network.EDGES) {
+                    throw new IllegalArgumentException("[ERROR] --> File changed while it was being read");
+                }
+                validEdge(vertexFrom, vertexTo, capacity, vertices);
+                network.placeEdge(placed[0]++, vertexFrom, vertexTo, capacity, next);
+            }
+        });
+        if (placed[0] != network.EDGES) {
+            throw new IllegalArgumentException("[ERROR] --> File changed while it was being read");
+        }
+        SolverMetrics.get().recordLoad(vertices, network.EDGES, System.nanoTime() - startNanos);
+        return network;
+    }
+
+    /**
+     * Count the arcs of each vertex, every edge adds one arc at both of its ends
+     * @param V - number of vertices in the network
+     * @param from - vertex each edge starts at
+     * @param to - vertex each edge goes to
+     * @param capacity - capacity of each edge
+     * @return first arc of each vertex, the last entry is the total number of arcs
+     * @throws IllegalArgumentException if vertex total is negative, the arrays differ in length, or an edge is not valid
+     */
+    private static int[] countArcs(int V, int[] from, int[] to, int[] capacity) {
+        if (V < 0) {
+            throw new IllegalArgumentException("[ERROR] --> Negative Vertices not allowed");
+        }
+        if (from.length != to.length || from.length != capacity.length) {
+            throw new IllegalArgumentException("[ERROR] --> Edge data arrays must be of the same length");
+        }
+        int[] offsets = new int[V + 1];
+        for (int i = 0; i < from.length; i++) {
+            validEdge(from[i], to[i], capacity[i], V);
+            offsets[from[i] + 1]++;
+            offsets[to[i] + 1]++;
+        }
+        for (int v = 0; v < V; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        return offsets;
+    }
+
+    /**
+     * @return a copy of the first arc of each vertex, to be used as the next free arc slot while placing edges
+     */
+    private int[] firstArcs() {
+        int[] next = new int[VERTICES];
+        System.arraycopy(OFFSETS, 0, next, 0, VERTICES);
+        return next;
+    }
+
+    /**
+     * Place an edge as its forward arc and reverse arc
+     * @param edge - index of the edge, in the order the edges were given
+     * @param vertexFrom - from vertex of the edge
+     * @param vertexTo - to vertex of the edge
+     * @param capacity - capacity of the edge
+     * @param next - next free arc slot of each vertex
+     */
+    private void placeEdge(int edge, int vertexFrom, int vertexTo, int capacity, int[] next) {
+        int forward = next[vertexFrom]++;
+        int backward = next[vertexTo]++;
+        HEADS[forward] = vertexTo;
+        HEADS[backward] = vertexFrom;
+        CAPACITIES[forward] = capacity;
+        REVERSE[forward] = backward;
+        REVERSE[backward] = forward;
+        EDGE_ARC[edge] = forward;
+    }
+
+    /**
+     * edge validation, the same checks FlowEdge and FlowNetwork do
+     * @param vertexFrom - from vertex of the edge
+     * @param vertexTo - to vertex of the edge
+     * @param capacity - capacity of the edge
+     * @param vertices - number of vertices in the network
+     * @throws IllegalArgumentException if any value is negative or a vertex is out of bounds of 0 and V-1
+     */
+    private static void validEdge(int vertexFrom, int vertexTo, int capacity, int vertices) {
+        if (vertexFrom < 0 || vertexTo < 0 || capacity < 0) {
+            throw new IllegalArgumentException("[ERROR] --> from, to, and capacity must be non-negative integers");
+        }
+        validVertex(vertexFrom, vertices);
+        validVertex(vertexTo, vertices);
+    }
+
+    /**
+     * Copy one column of the parsers edge data into an int array
+     * @param parser - object of FileParser
+     * @param column - 0 for vertex from, 1 for vertex to and 2 for capacity
+     * @return the column as an array
+     */
+    private static int[] edgeColumn(FileParser parser, int column) {
+        int[] values = new int[parser.getEdgesTotal()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = parser.getEdgeData().get(i).get(column);
+        }
+        return values;
+    }
+
+    /**
+     * Implements the Breadth First Search Algorithm, which will be used to find the Augmenting Path
+     * @param source - network source
+     * @param arcTo - arc path, arcTo[v] is the arc used to reach v
+     * @param target - network sink
+     * @return - whether there is another path or not
+     */
+    public boolean breadthFirstSearch(int source, int[] arcTo, int target) {
+        boolean[] marked = new boolean[VERTICES];
+        int[] queue = new int[VERTICES];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        marked[source] = true;
+
+        while (head < tail) {
+            int vertexFrom = queue[head++];
+            for (int arc = OFFSETS[vertexFrom]; arc < OFFSETS[vertexFrom + 1]; arc++) {
+                int vertexTo = HEADS[arc];
+                if (!marked[vertexTo] && CAPACITIES[arc] - flows[arc] > 0) {
+                    arcTo[vertexTo] = arc;
+                    marked[vertexTo] = true;
+                    if (vertexTo == target) {
+                        return true;
+                    }
+                    queue[tail++] = vertexTo;
+                }
+            }
+        }
+        return marked[target];
+    }
+
+    /**
+     * @param vertex - which vertex
+     * @return index of the first arc leaving the vertex
+     */
+    public int firstArc(int vertex) {
+        return OFFSETS[vertex];
+    }
+
+    /**
+     * @param vertex - which vertex
+     * @return index one past the last arc leaving the vertex
+     */
+    public int endArc(int vertex) {
+        return OFFSETS[vertex + 1];
+    }
+
+    /**
+     * @param arc - which arc
+     * @return vertex the arc points to
+     */
+    public int head(int arc) {
+        return HEADS[arc];
+    }
+
+    /**
+     * @param arc - which arc
+     * @return vertex the arc starts at
+     */
+    public int tail(int arc) {
+        return HEADS[REVERSE[arc]];
+    }
+
+    /**
+     * @param arc - which arc
+     * @return index of the opposite arc
+     */
+    public int reverse(int arc) {
+        return REVERSE[arc];
+    }
+
+    /**
+     * @param arc - which arc
+     * @return capacity of the arc, 0 for a reverse arc
+     */
+    public int getCapacity(int arc) {
+        return CAPACITIES[arc];
+    }
+
+    /**
+     * @param arc - which arc
+     * @return current flow of the arc, negative on a reverse arc
+     */
+    public int getFlow(int arc) {
+        return flows[arc];
+    }
+
+    /**
+     * Gets the residual capacity of an arc
+     * For a forward arc this is capacity - flow, for a reverse arc it is the flow of its forward arc
+     * @param arc - which arc
+     * @return residual capacity
+     */
+    public int residualCapacity(int arc) {
+        return CAPACITIES[arc] - flows[arc];
+    }
+
+    /**
+     * Adds residual flow along an arc, the opposite arc loses the same amount
+     * @param arc - which arc
+     * @param flowChange - flow amount
+     * @throws IllegalArgumentException if flowChange is negative or more than the residual capacity of the arc
+     */
+    public void addResidualFlow(int arc, int flowChange) {
+        if (flowChange < 0) {
+            throw new IllegalArgumentException("[ERROR] --> Illegal flowChange, must be non-negative");
+        }
+        if (flowChange > CAPACITIES[arc] - flows[arc]) {
+            throw new IllegalArgumentException("[ERROR] --> Flow must not exceed allowed capacity");
+        }
+        flows[arc] += flowChange;
+        flows[REVERSE[arc]] -= flowChange;
+    }
+
+    /**
+     * @param edge - index of the edge, in the order the edges were given
+     * @return the forward arc of the edge
+     */
+    public int edgeArc(int edge) {
+        return EDGE_ARC[edge];
+    }
+
+    /**
+     * Set every flow back to 0, so that the network can be solved again
+     */
+    public void resetFlows() {
+        Arrays.fill(flows, 0);
+    }
+
+    /**
+     * @return number of vertices
+     */
+    public int getNumberOfVertices() {
+        return this.VERTICES;
+    }
+
+    /**
+     * @return number of edges
+     */
+    public int getNumberOfEdges() {
+        return this.EDGES;
+    }
+
+    /**
+     * @return number of arcs, twice the number of edges
+     */
+    public int getNumberOfArcs() {
+        return OFFSETS[VERTICES];
+    }
+
+    /**
+     * @return bytes of the arrays of this network, the topology arrays are shared by its query networks
+     */
+    public long getBytes() {
+        return 4L * (OFFSETS.length + 4L * HEADS.length + EDGE_ARC.length);
+    }
+
+    /**
+     * @param arc - which arc
+     * @return the forward arc of the edge the arc belongs to, the arc itself if it is a forward arc
+     */
+    public int forwardArc(int arc) {
+        // only the forward arc has capacity, an edge of capacity 0 can never carry flow so either arc describes it
+        return CAPACITIES[arc] == 0 && CAPACITIES[REVERSE[arc]] > 0 ? REVERSE[arc] : arc;
+    }
+
+    /**
+     * vertex validation
+     * @param vertex - which vertex to validate
+     * @param vertices - number of vertices in the network
+     * @throws IllegalArgumentException if vertex is out of bounds of 0 and V-1
+     * starts from 0, therefore will go till total-1
+     */
+    private static void validVertex(int vertex, int vertices) {
+        if (vertex < 0 || vertex >= vertices) {
+            throw new IllegalArgumentException("[ERROR] --> Illegal vertex choice: It must be less than " + vertices + " and greater than 0");
+        }
+    }
+}
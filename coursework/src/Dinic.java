@@ -0,0 +1,314 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: Dinic API, will compute required max flow
+                It builds a level graph once per phase and pushes
+                a blocking flow through it
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Dinic API, an alternative to EdmondsCarp for computing the max flow of a FlowNetwork
+ * Each phase runs a single Breadth First Search to label every vertex with its distance from the source (level graph)
+ * and then pushes a blocking flow using only edges that go from one level to the next
+ * Current-arc pointers make sure an edge that is saturated or leads to a dead end is never looked at again in the phase
+ * The level graph comes from an AugmentingPathSearch, so a ParallelAugmentingPathSearch can build it on large networks
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class Dinic {
+    private final int VERTICES;         // Number of vertices
+    private final int[] LEVEL;          // distance of each vertex from the source in the current level graph
+    private final int[] CURRENT_ARC;    // index of the next edge to try in each vertex's adjacency list
+    private final AugmentingPathSearch LEVEL_SEARCH; // search that labels the level graph of each phase
+    private final FlowEdge[] EDGE_TO;   // edges of the path being built by the blocking flow search (FlowNetwork only)
+    private int flowValue;              // value of the max flow
+    private int augmentingPaths;        // number of augmenting paths pushed over all phases
+    private int phases;                 // number of level graphs built
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed flowNetwork
+     * @param flowNetwork - the FlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1 or when source and target
+     * are same
+     */
+    public Dinic(FlowNetwork flowNetwork, int source, int target) {
+        this(flowNetwork, source, target, new AugmentingPathSearch(flowNetwork.getNumberOfVertices()));
+    }
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed flowNetwork
+     * @param flowNetwork - the FlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @param levelSearch - search to build the level graphs with, created for the networks number of vertices
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1, when source and target
+     * are same or the search is for a different number of vertices
+     */
+    public Dinic(FlowNetwork flowNetwork, int source, int target, AugmentingPathSearch levelSearch) {
+        this.flowValue = 0;
+        this.VERTICES = flowNetwork.getNumberOfVertices();
+
+        // check to see whether source and target are valid vertices
+        validVertex(source);
+        validVertex(target);
+
+        // same source and target no flow
+        if (source == target) {
+            throw new IllegalArgumentException("[ERROR] --> Source and target are the same");
+        }
+
+        this.LEVEL = new int[VERTICES];
+        this.CURRENT_ARC = new int[VERTICES];
+        this.LEVEL_SEARCH = levelSearch;
+        this.EDGE_TO = new FlowEdge[VERTICES];
+
+        // one level graph per phase, each phase strictly increases the distance from source to target
+        while (buildLevelGraph(flowNetwork, source, target)) {
+            phases++;
+            Arrays.fill(CURRENT_ARC, 0);
+            flowValue += pushBlockingFlow(flowNetwork, source, target);
+        }
+    }
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed compact flowNetwork
+     * Same algorithm as above, walking the arc arrays instead of the adjacency lists
+     * @param flowNetwork - the CompactFlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1 or when source and target
+     * are same
+     */
+    public Dinic(CompactFlowNetwork flowNetwork, int source, int target) {
+        this(flowNetwork, source, target, new AugmentingPathSearch(flowNetwork.getNumberOfVertices()));
+    }
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed compact flowNetwork
+     * @param flowNetwork - the CompactFlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @param levelSearch - search to build the level graphs with, created for the networks number of vertices
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1, when source and target
+     * are same or the search is for a different number of vertices
+     */
+    public Dinic(CompactFlowNetwork flowNetwork, int source, int target, AugmentingPathSearch levelSearch) {
+        this.flowValue = 0;
+        this.VERTICES = flowNetwork.getNumberOfVertices();
+
+        // check to see whether source and target are valid vertices
+        validVertex(source);
+        validVertex(target);
+
+        // same source and target no flow
+        if (source == target) {
+            throw new IllegalArgumentException("[ERROR] --> Source and target are the same");
+        }
+
+        this.LEVEL = new int[VERTICES];
+        this.CURRENT_ARC = new int[VERTICES];
+        this.LEVEL_SEARCH = levelSearch;
+        this.EDGE_TO = null;
+
+        // the current arc of a vertex is an arc index here, and the path is held as arcs
+        int[] arcTo = new int[VERTICES];
+        while (buildLevelGraph(flowNetwork, source, target, arcTo)) {
+            phases++;
+            for (int v = 0; v < VERTICES; v++) {
+                CURRENT_ARC[v] = flowNetwork.firstArc(v);
+            }
+            flowValue += pushBlockingFlow(flowNetwork, source, target, arcTo);
+        }
+    }
+
+    /**
+     * Label every vertex reachable in the residual network with its distance from the source
+     * The search stops as soon as the target is labelled, vertices further away can never be on a shortest path
+     * @param flowNetwork - which flow network
+     * @param source - network source
+     * @param target - network target
+     * @return whether the target is reachable, in other words whether there's another phase
+     */
+    private boolean buildLevelGraph(FlowNetwork flowNetwork, int source, int target) {
+        // the path the search leaves in EDGE_TO is not needed, the blocking flow search overwrites it
+        boolean reachable = LEVEL_SEARCH.search(flowNetwork, source, target, EDGE_TO);
+        copyLevels();
+        return reachable;
+    }
+
+    /**
+     * Push a blocking flow through the current level graph
+     * The search is iterative so that long paths (ladder and bridge networks) cannot overflow the call stack
+     * Each vertex resumes from its current arc, an edge is only skipped over once it can no longer be used this phase
+     * @param flowNetwork - which flow network
+     * @param source - network source
+     * @param target - network target
+     * @return the total flow pushed in this phase
+     */
+    private int pushBlockingFlow(FlowNetwork flowNetwork, int source, int target) {
+        int pushed = 0;
+        int vertex = source;
+
+        while (true) {
+            if (vertex == target) {
+                // walk back along the path to find its bottleneck, then augment it
+                int bottleneckCapacity = Integer.MAX_VALUE;
+                for (int v = target; v != source; v = EDGE_TO[v].otherEnd(v)) {
+                    bottleneckCapacity = Math.min(bottleneckCapacity, EDGE_TO[v].residualCapacity(v));
+                }
+                for (int v = target; v != source; v = EDGE_TO[v].otherEnd(v)) {
+                    EDGE_TO[v].addResidualFlow(v, bottleneckCapacity);
+                }
+                pushed += bottleneckCapacity;
+                augmentingPaths++;
+                // restart from the source, saturated edges are skipped by the current arc check below
+                vertex = source;
+                continue;
+            }
+
+            ArrayList<FlowEdge> adjacent = flowNetwork.getAdjacent(vertex);
+            boolean advanced = false;
+            while (CURRENT_ARC[vertex] < adjacent.size()) {
+                FlowEdge edge = adjacent.get(CURRENT_ARC[vertex]);
+                int vertexTo = edge.otherEnd(vertex);
+                if (LEVEL[vertexTo] == LEVEL[vertex] + 1 && edge.residualCapacity(vertexTo) > 0
+                        && (LEVEL[vertexTo] < LEVEL[target] || vertexTo == target)) {
+                    EDGE_TO[vertexTo] = edge;
+                    vertex = vertexTo;
+                    advanced = true;
+                    break;
+                }
+                CURRENT_ARC[vertex]++;
+            }
+
+            if (!advanced) {
+                // dead end, no more flow can leave the source in this phase
+                if (vertex == source) {
+                    return pushed;
+                }
+                // retreat, remove the vertex from the level graph and move the parent past the edge we came from
+                LEVEL[vertex] = -1;
+                vertex = EDGE_TO[vertex].otherEnd(vertex);
+                CURRENT_ARC[vertex]++;
+            }
+        }
+    }
+
+    /**
+     * Label every vertex reachable in the residual network with its distance from the source, over the arc arrays
+     * @param flowNetwork - which compact flow network
+     * @param source - network source
+     * @param target - network target
+     * @param arcTo - scratch path for the search, overwritten by the blocking flow search
+     * @return whether the target is reachable, in other words whether there's another phase
+     */
+    private boolean buildLevelGraph(CompactFlowNetwork flowNetwork, int source, int target, int[] arcTo) {
+        boolean reachable = LEVEL_SEARCH.search(flowNetwork, source, target, arcTo);
+        copyLevels();
+        return reachable;
+    }
+
+    /**
+     * Take the levels of the last search, unreached vertices get -1
+     * LEVEL is a copy because the blocking flow search removes dead ends from it
+     */
+    private void copyLevels() {
+        for (int v = 0; v < VERTICES; v++) {
+            LEVEL[v] = LEVEL_SEARCH.isVisited(v) ? LEVEL_SEARCH.getLevel(v) : -1;
+        }
+    }
+
+    /**
+     * Push a blocking flow through the current level graph, over the arc arrays
+     * @param flowNetwork - which compact flow network
+     * @param source - network source
+     * @param target - network target
+     * @param arcTo - arcTo[v] is the arc used to reach v on the path being built
+     * @return the total flow pushed in this phase
+     */
+    private int pushBlockingFlow(CompactFlowNetwork flowNetwork, int source, int target, int[] arcTo) {
+        int pushed = 0;
+        int vertex = source;
+
+        while (true) {
+            if (vertex == target) {
+                int bottleneckCapacity = Integer.MAX_VALUE;
+                for (int v = target; v != source; v = flowNetwork.tail(arcTo[v])) {
+                    bottleneckCapacity = Math.min(bottleneckCapacity, flowNetwork.residualCapacity(arcTo[v]));
+                }
+                for (int v = target; v != source; v = flowNetwork.tail(arcTo[v])) {
+                    flowNetwork.addResidualFlow(arcTo[v], bottleneckCapacity);
+                }
+                pushed += bottleneckCapacity;
+                augmentingPaths++;
+                vertex = source;
+                continue;
+            }
+
+            int end = flowNetwork.endArc(vertex);
+            boolean advanced = false;
+            while (CURRENT_ARC[vertex] < end) {
+                int arc = CURRENT_ARC[vertex];
+                int vertexTo = flowNetwork.head(arc);
+                if (LEVEL[vertexTo] == LEVEL[vertex] + 1 && flowNetwork.residualCapacity(arc) > 0
+                        && (LEVEL[vertexTo] < LEVEL[target] || vertexTo == target)) {
+                    arcTo[vertexTo] = arc;
+                    vertex = vertexTo;
+                    advanced = true;
+                    break;
+                }
+                CURRENT_ARC[vertex]++;
+            }
+
+            if (!advanced) {
+                if (vertex == source) {
+                    return pushed;
+                }
+                LEVEL[vertex] = -1;
+                vertex = flowNetwork.tail(arcTo[vertex]);
+                CURRENT_ARC[vertex]++;
+            }
+        }
+    }
+
+    /**
+     * @return graphs max flow
+     */
+    public int getFlowValue() {
+        return flowValue;
+    }
+
+    /**
+     * @return number of augmenting paths pushed over all phases
+     */
+    public int getAugmentingPaths() {
+        return augmentingPaths;
+    }
+
+    /**
+     * @return number of phases (level graphs built)
+     */
+    public int getPhases() {
+        return phases;
+    }
+
+    /**
+     * vertex validation
+     * @param vertex - which vertex to validate
+     * @throws IllegalArgumentException if vertex is out of bounds of 0 and V
+     * starts from 0, therefore will go till total-1
+     */
+    private void validVertex(int vertex) {
+        if (vertex < 0 || vertex >= VERTICES) {
+            throw new IllegalArgumentException("[ERROR] --> Illegal vertex choice: It must be less than " + VERTICES +
+                    " and greater than 0");
+        }
+    }
+}
@@ -0,0 +1,344 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: DirectionOptimizingSearch API, a Breadth First
+                Search that switches between top down and bottom
+                up expansion depending on the frontier size
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * DirectionOptimizingSearch API, a drop in replacement for AugmentingPathSearch that looks at fewer edges when the
+ * BFS frontier gets wide
+ * A top down level looks at every edge of every frontier vertex, most of which lead to vertices that are already
+ * visited once the frontier is large. A bottom up level instead goes over the unvisited vertices and looks at their
+ * edges only until one leads back into the frontier with residual capacity towards the vertex, which is checked with
+ * FlowEdge.residualCapacity from the unvisited end (or the reverse arc of a compact network). The frontier is kept as
+ * a bitmap for that membership check
+ * Each level picks its direction with the usual heuristic: bottom up once the edges leaving the frontier are more than
+ * 1/alpha of the edges of the unvisited vertices, back to top down once the frontier holds fewer than 1/BETA of the
+ * vertices. ALPHA is far lower than the 14 used for plain graphs, only about half the edges of a vertex can bring flow
+ * into it, so a bottom up vertex takes many more looks to find its parent
+ * Unlike a plain graph search, many unvisited vertices of a residual network can never be reached (they are behind
+ * saturated edges), and a bottom up level looks at all of their edges for nothing. So every bottom up level is checked
+ * against what top down would have cost, the edges of the frontier: if it cost more, the rest of the search stays
+ * top down and alpha is raised, making bottom up rarer in later searches, if it cost less alpha moves back towards
+ * ALPHA
+ * Both directions give every vertex a parent one level closer to the source, so the paths are shortest paths
+ * The edges looked at are counted per direction, so the saving over a plain top down search can be seen
+ * The visited stamps, levels and counters are those of AugmentingPathSearch, and its queue is one of the two frontiers
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class DirectionOptimizingSearch extends AugmentingPathSearch {
+    private static final int ALPHA = 2;     // go bottom up once frontier edges exceed unvisited edges / alpha
+    private static final int MAX_ALPHA = 1 << 20;   // alpha at which bottom up is as good as never chosen
+    private static final int BETA = 24;     // go back top down once the frontier is below vertices / BETA
+
+    private final long[] FRONTIER_BITS;     // the current frontier as a bitmap, only filled for bottom up levels
+    private int[] frontier;                 // vertices of the level being expanded
+    private int[] next;                     // vertices of the level after it
+    private int alpha = ALPHA;              // current bottom up threshold, raised while bottom up does not pay off
+
+    private long bottomUpEdges;             // edges looked at bottom up, the rest of edgesExamined was top down
+    private int topDownLevels;              // levels expanded top down, over all searches
+    private int bottomUpLevels;             // levels expanded bottom up, over all searches
+
+    /**
+     * Initialize a search for networks of V vertices
+     * @param V - number of vertices in the network
+     * @throws IllegalArgumentException if vertex total is negative
+     */
+    public DirectionOptimizingSearch(int V) {
+        super(V);
+        this.FRONTIER_BITS = new long[(V + 63) >>> 6];
+        this.frontier = QUEUE;
+        this.next = new int[V];
+    }
+
+    /**
+     * Find a shortest augmenting path whose every edge has a residual capacity of at least minResidual
+     * @param flowNetwork - which flow network
+     * @param source - network source
+     * @param target - network sink
+     * @param edgeTo - vertex path, edgeTo[v] is the edge used to reach v, only valid for visited vertices
+     * @param minResidual - smallest residual capacity an edge of the path may have, 1 for any augmenting path
+     * @return whether there is such a path or not
+     * @throws IllegalArgumentException if the network has a different number of vertices than the search
+     */
+    @Override
+    public boolean search(FlowNetwork flowNetwork, int source, int target, FlowEdge[] edgeTo, int minResidual) {
+        validNetwork(flowNetwork.getNumberOfVertices());
+        start(source);
+
+        // edges of the vertices not yet visited, for the direction heuristic
+        long unvisitedEdges = 2L * flowNetwork.getNumberOfEdges() - flowNetwork.getAdjacent(source).size();
+        long frontierEdges = flowNetwork.getAdjacent(source).size();
+        int size = 1;
+        boolean bottomUp = false;
+        boolean bottomUpAllowed = true;     // cleared for the rest of the search once bottom up has not paid off
+
+        while (size > 0) {
+            bottomUp = bottomUpAllowed
+                    && (bottomUp ? size >= VERTICES / BETA : frontierEdges > unvisitedEdges / alpha);
+            int nextLevel = LEVEL[frontier[0]] + 1;
+            int nextSize = 0;
+            long topDownCost = frontierEdges;
+            long bottomUpBefore = bottomUpEdges;
+            frontierEdges = 0;
+            verticesDequeued += size;
+
+            if (!bottomUp) {
+                topDownLevels++;
+                for (int i = 0; i < size; i++) {
+                    int vertexFrom = frontier[i];
+                    ArrayList<FlowEdge> adjacent = flowNetwork.getAdjacent(vertexFrom);
+                    for (int e = 0; e < adjacent.size(); e++) {
+                        FlowEdge edge = adjacent.get(e);
+                        int vertexTo = edge.otherEnd(vertexFrom);
+                        if (VISITED[vertexTo] != epoch && edge.residualCapacity(vertexTo) >= minResidual) {
+                            edgeTo[vertexTo] = edge;
+                            visit(vertexTo, nextLevel);
+                            if (vertexTo == target) {
+                                edgesExamined += e + 1;
+                                return true;
+                            }
+                            next[nextSize++] = vertexTo;
+                            int degree = flowNetwork.getAdjacent(vertexTo).size();
+                            frontierEdges += degree;
+                            unvisitedEdges -= degree;
+                        }
+                    }
+                    edgesExamined += adjacent.size();
+                }
+            } else {
+                bottomUpLevels++;
+                fillFrontierBits(size);
+                for (int vertexTo = 0; vertexTo < VERTICES; vertexTo++) {
+                    if (VISITED[vertexTo] == epoch) {
+                        continue;
+                    }
+                    // look for a parent in the frontier that can still send flow to this vertex
+                    ArrayList<FlowEdge> adjacent = flowNetwork.getAdjacent(vertexTo);
+                    for (int e = 0; e < adjacent.size(); e++) {
+                        FlowEdge edge = adjacent.get(e);
+                        int vertexFrom = edge.otherEnd(vertexTo);
+                        if (inFrontier(vertexFrom) && edge.residualCapacity(vertexTo) >= minResidual) {
+                            bottomUpEdges += e + 1;
+                            edgeTo[vertexTo] = edge;
+                            visit(vertexTo, nextLevel);
+                            if (vertexTo == target) {
+                                edgesExamined += bottomUpEdges - bottomUpBefore;
+                                adapt(bottomUpEdges - bottomUpBefore, topDownCost);
+                                return true;
+                            }
+                            next[nextSize++] = vertexTo;
+                            frontierEdges += adjacent.size();
+                            unvisitedEdges -= adjacent.size();
+                            break;
+                        }
+                    }
+                    if (VISITED[vertexTo] != epoch) {
+                        bottomUpEdges += adjacent.size();
+                    }
+                }
+                edgesExamined += bottomUpEdges - bottomUpBefore;
+                bottomUpAllowed = adapt(bottomUpEdges - bottomUpBefore, topDownCost);
+            }
+            size = swapFrontiers(nextSize);
+        }
+        return false;
+    }
+
+    /**
+     * Find a shortest augmenting path of a compact flow network whose every arc has a residual capacity of at least
+     * minResidual, the bottom up levels check the reverse arc of each arc leaving an unvisited vertex
+     * @param flowNetwork - which compact flow network
+     * @param source - network source
+     * @param target - network sink
+     * @param arcTo - arc path, arcTo[v] is the arc used to reach v, only valid for visited vertices
+     * @param minResidual - smallest residual capacity an arc of the path may have, 1 for any augmenting path
+     * @return whether there is such a path or not
+     * @throws IllegalArgumentException if the network has a different number of vertices than the search
+     */
+    @Override
+    public boolean search(CompactFlowNetwork flowNetwork, int source, int target, int[] arcTo, int minResidual) {
+        validNetwork(flowNetwork.getNumberOfVertices());
+        start(source);
+
+        long unvisitedEdges = (long) flowNetwork.getNumberOfArcs() - degree(flowNetwork, source);
+        long frontierEdges = degree(flowNetwork, source);
+        int size = 1;
+        boolean bottomUp = false;
+        boolean bottomUpAllowed = true;     // cleared for the rest of the search once bottom up has not paid off
+
+        while (size > 0) {
+            bottomUp = bottomUpAllowed
+                    && (bottomUp ? size >= VERTICES / BETA : frontierEdges > unvisitedEdges / alpha);
+            int nextLevel = LEVEL[frontier[0]] + 1;
+            int nextSize = 0;
+            long topDownCost = frontierEdges;
+            long bottomUpBefore = bottomUpEdges;
+            frontierEdges = 0;
+            verticesDequeued += size;
+
+            if (!bottomUp) {
+                topDownLevels++;
+                for (int i = 0; i < size; i++) {
+                    int vertexFrom = frontier[i];
+                    int first = flowNetwork.firstArc(vertexFrom);
+                    int end = flowNetwork.endArc(vertexFrom);
+                    for (int arc = first; arc < end; arc++) {
+                        int vertexTo = flowNetwork.head(arc);
+                        if (VISITED[vertexTo] != epoch && flowNetwork.residualCapacity(arc) >= minResidual) {
+                            arcTo[vertexTo] = arc;
+                            visit(vertexTo, nextLevel);
+                            if (vertexTo == target) {
+                                edgesExamined += arc - first + 1;
+                                return true;
+                            }
+                            next[nextSize++] = vertexTo;
+                            int degree = degree(flowNetwork, vertexTo);
+                            frontierEdges += degree;
+                            unvisitedEdges -= degree;
+                        }
+                    }
+                    edgesExamined += end - first;
+                }
+            } else {
+                bottomUpLevels++;
+                fillFrontierBits(size);
+                for (int vertexTo = 0; vertexTo < VERTICES; vertexTo++) {
+                    if (VISITED[vertexTo] == epoch) {
+                        continue;
+                    }
+                    // the arc into this vertex is the reverse of an arc leaving it
+                    int first = flowNetwork.firstArc(vertexTo);
+                    int end = flowNetwork.endArc(vertexTo);
+                    for (int arc = first; arc < end; arc++) {
+                        int reverse = flowNetwork.reverse(arc);
+                        if (inFrontier(flowNetwork.head(arc)) && flowNetwork.residualCapacity(reverse) >= minResidual) {
+                            bottomUpEdges += arc - first + 1;
+                            arcTo[vertexTo] = reverse;
+                            visit(vertexTo, nextLevel);
+                            if (vertexTo == target) {
+                                edgesExamined += bottomUpEdges - bottomUpBefore;
+                                adapt(bottomUpEdges - bottomUpBefore, topDownCost);
+                                return true;
+                            }
+                            next[nextSize++] = vertexTo;
+                            frontierEdges += end - first;
+                            unvisitedEdges -= end - first;
+                            break;
+                        }
+                    }
+                    if (VISITED[vertexTo] != epoch) {
+                        bottomUpEdges += end - first;
+                    }
+                }
+                edgesExamined += bottomUpEdges - bottomUpBefore;
+                bottomUpAllowed = adapt(bottomUpEdges - bottomUpBefore, topDownCost);
+            }
+            size = swapFrontiers(nextSize);
+        }
+        return false;
+    }
+
+    /**
+     * Start a new search from the source
+     * @param source - network source
+     */
+    private void start(int source) {
+        searches++;
+        nextEpoch();
+        visit(source, 0);
+        frontier[0] = source;
+    }
+
+    /**
+     * Adjust alpha after a bottom up level
+     * @param bottomUpCost - edges the level looked at
+     * @param topDownCost - edges a top down level would have looked at
+     * @return whether the rest of the search may still go bottom up
+     */
+    private boolean adapt(long bottomUpCost, long topDownCost) {
+        if (bottomUpCost > topDownCost) {
+            alpha = (int) Math.min(MAX_ALPHA, alpha * 4L);
+            return false;
+        }
+        alpha = Math.max(ALPHA, alpha / 2);
+        return true;
+    }
+
+    /**
+     * Make the next frontier the current one
+     * @param nextSize - vertices in the next frontier
+     * @return the size of the new current frontier
+     */
+    private int swapFrontiers(int nextSize) {
+        int[] swap = frontier;
+        frontier = next;
+        next = swap;
+        return nextSize;
+    }
+
+    /**
+     * Set the bitmap to the vertices of the current frontier
+     * @param size - vertices in the current frontier
+     */
+    private void fillFrontierBits(int size) {
+        Arrays.fill(FRONTIER_BITS, 0L);
+        for (int i = 0; i < size; i++) {
+            FRONTIER_BITS[frontier[i] >>> 6] |= 1L << frontier[i];
+        }
+    }
+
+    /**
+     * @param vertex - which vertex
+     * @return whether the vertex is in the current frontier, only valid on a bottom up level
+     */
+    private boolean inFrontier(int vertex) {
+        return (FRONTIER_BITS[vertex >>> 6] & (1L << vertex)) != 0;
+    }
+
+    /**
+     * @param flowNetwork - which compact flow network
+     * @param vertex - which vertex
+     * @return number of arcs leaving the vertex
+     */
+    private static int degree(CompactFlowNetwork flowNetwork, int vertex) {
+        return flowNetwork.endArc(vertex) - flowNetwork.firstArc(vertex);
+    }
+
+    /**
+     * @return edges looked at by top down levels over all searches
+     */
+    public long getTopDownEdges() {
+        return edgesExamined - bottomUpEdges;
+    }
+
+    /**
+     * @return edges looked at by bottom up levels over all searches
+     */
+    public long getBottomUpEdges() {
+        return bottomUpEdges;
+    }
+
+    /**
+     * @return levels expanded top down over all searches
+     */
+    public int getTopDownLevels() {
+        return topDownLevels;
+    }
+
+    /**
+     * @return levels expanded bottom up over all searches
+     */
+    public int getBottomUpLevels() {
+        return bottomUpLevels;
+    }
+}
@@ -0,0 +1,42 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: EdgeSink API, receives a networks data one edge at
+                a time while a file is being read
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+/**
+ * EdgeSink API, which FastFileParser hands the vertex count and then every edge to, as soon as each line is read
+ * Lets a network be built while the file is streamed, without first holding all of the edges in a list
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public interface EdgeSink {
+    /**
+     * Called once, before any edge, with the vertex count from the first line of the file
+     * @param vertices - number of vertices in the network
+     */
+    void setVertices(int vertices);
+
+    /**
+     * Called for every edge line of the file, in file order
+     * @param vertexFrom - from vertex of the edge
+     * @param vertexTo - to vertex of the edge
+     * @param capacity - capacity of the edge
+     */
+    void addEdge(int vertexFrom, int vertexTo, int capacity);
+
+    /**
+     * Called instead of the above for every edge line with a fourth number, its cost per unit of flow
+     * Sinks that have no use for costs get the edge without it
+     * @param vertexFrom - from vertex of the edge
+     * @param vertexTo - to vertex of the edge
+     * @param capacity - capacity of the edge
+     * @param cost - cost of each unit of flow on the edge
+     */
+    default void addEdge(int vertexFrom, int vertexTo, int capacity, int cost) {
+        addEdge(vertexFrom, vertexTo, capacity);
+    }
+}
@@ -12,13 +12,16 @@
  * EdmondsCarp API, which will be used to implement the FordFulkerson Algorithm
  * This will be used to compute the max flow of the FlowNetwork
  * Has methods to check for remaining augmenting paths and returning the max flow of the flowNetwork
+ * Can also stop as soon as the flow reaches a limit, for when only whether the network carries that much is needed
  * @version 1.x March 6th 2021
  * @author Ammar Raneez | 2019163 | W1761196
  */
 public class EdmondsCarp {
     private final int VERTICES;         // Number of vertices
     private FlowEdge[] edgeTo;          // will hold the path, on how we reach each vertex
+    private AugmentingPathSearch search; // reused for every augmenting path, so that no search allocates
     private int flowValue;              // value of the max flow
+    private final int FLOW_LIMIT;       // flow at which the solve stops, Integer.MAX_VALUE for the max flow
 
     /**
      * Initialize and perform the operations in computing the max flow of the passed flowNetwork
@@ -29,9 +32,74 @@ public class EdmondsCarp {
      * if the initial flow is not feasible for the network
      */
     public EdmondsCarp(FlowNetwork flowNetwork, int source, int target) {
+        this(flowNetwork, source, target, SolveListener.NONE);
+    }
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed flowNetwork
+     * Every step is reported to the listener, nothing is printed by the solver itself
+     * @param flowNetwork - the FlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @param listener - where to report each step, SolveListener.NONE to skip reporting entirely
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1; when source and target are same or
+     * if the initial flow is not feasible for the network
+     */
+    public EdmondsCarp(FlowNetwork flowNetwork, int source, int target, SolveListener listener) {
+        this(flowNetwork, source, target, listener, new AugmentingPathSearch(flowNetwork.getNumberOfVertices()));
+    }
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed flowNetwork
+     * Augmenting paths are found by the given search, such as a ParallelAugmentingPathSearch for very large networks
+     * @param flowNetwork - the FlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @param listener - where to report each step, SolveListener.NONE to skip reporting entirely
+     * @param search - search to find the augmenting paths with, created for the networks number of vertices
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1; when source and target are same,
+     * if the initial flow is not feasible for the network or the search is for a different number of vertices
+     */
+    public EdmondsCarp(FlowNetwork flowNetwork, int source, int target, SolveListener listener,
+                       AugmentingPathSearch search) {
+        this(flowNetwork, source, target, listener, search, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Only find out whether the network can carry flowLimit, such as whether there are k edge disjoint paths when
+     * every capacity is 1
+     * Augmenting stops as soon as the flow reaches flowLimit, the last bottleneck is cut down so that the flow is
+     * exactly flowLimit, which on networks of large flow saves most of the augmenting paths
+     * @param flowNetwork - the FlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @param flowLimit - flow at which to stop
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1; when source and target are same,
+     * if the initial flow is not feasible for the network or the flow limit is negative
+     */
+    public EdmondsCarp(FlowNetwork flowNetwork, int source, int target, int flowLimit) {
+        this(flowNetwork, source, target, SolveListener.NONE,
+                new AugmentingPathSearch(flowNetwork.getNumberOfVertices()), flowLimit);
+    }
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed flowNetwork, up to a flow limit
+     * @param flowNetwork - the FlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @param listener - where to report each step, SolveListener.NONE to skip reporting entirely
+     * @param search - search to find the augmenting paths with, created for the networks number of vertices
+     * @param flowLimit - flow at which to stop, Integer.MAX_VALUE for the max flow
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1; when source and target are same,
+     * if the initial flow is not feasible for the network, the search is for a different number of vertices or the flow
+     * limit is negative
+     */
+    public EdmondsCarp(FlowNetwork flowNetwork, int source, int target, SolveListener listener,
+                       AugmentingPathSearch search, int flowLimit) {
         this.flowValue = 0;         // start by initializing flow to 0
         int augmentingPaths = 0;    // augmenting paths are 0 at first
         this.VERTICES = flowNetwork.getNumberOfVertices();
+        this.FLOW_LIMIT = flowLimit;
 
         // check to see whether source and target are valid vertices
         validVertex(source);
@@ -41,15 +109,29 @@ public class EdmondsCarp {
         if (source == target) {
             throw new IllegalArgumentException("[ERROR] --> Source and target are the same");
         }
+        validFlowLimit(flowLimit);
 
-        System.out.println("Flow Network: Edges = "  + flowNetwork.getNumberOfEdges() + ", Vertices = " +
-                flowNetwork.getNumberOfVertices() + "\n\n");
+        // checked once, so that the hot loop below does no reporting work at all without a listener
+        boolean tracing = listener != SolveListener.NONE;
+        if (tracing) {
+            listener.onStart(flowNetwork.getNumberOfEdges(), flowNetwork.getNumberOfVertices());
+        }
 
-        // Ford Fulkerson Algorithm, while there exists an augmenting path keep going
-        while (hasAugmentingPath(flowNetwork, source, target)) {
-            // the maximum flow that can be pushed at a time, initialized to infinity, if it was initialized as 0
-            // always and only zero will be flown
-            int bottleneckCapacity = Integer.MAX_VALUE;
+        // the path array and search are created once, each augmenting path only overwrites them
+        this.edgeTo = new FlowEdge[VERTICES];
+        this.search = search;
+
+        // the search counts over its whole life, only what this solve adds to them is reported
+        long startNanos = System.nanoTime();
+        long searchesBefore = search.getSearches();
+        long edgesBefore = search.getEdgesExamined();
+        long dequeuedBefore = search.getVerticesDequeued();
+
+        // Ford Fulkerson Algorithm, while there exists an augmenting path keep going, until the flow limit is reached
+        while (flowValue < FLOW_LIMIT && hasAugmentingPath(flowNetwork, source, target)) {
+            // the maximum flow that can be pushed at a time, initialized to what is left of the flow limit (infinity
+            // without one), if it was initialized as 0 always and only zero will be flown
+            int bottleneckCapacity = FLOW_LIMIT - flowValue;
 
             // The for loops are designed in a way to "re track" the path taken, in other words, it goes backwards
             // determine bottleneck capacity, to increment the flow value
@@ -60,32 +142,176 @@ public class EdmondsCarp {
             // add bottleneck capacity to the edges that were involved, to signify the change in flow of the edge
             // the max forward edge can hold is it's capacity, and a backward edge can hold a minimum of 0 aka empty
             for (int v = target; v != source; v = edgeTo[v].otherEnd(v)) {
-                System.out.print("Before Adding Residual Flow: " + edgeTo[v] + " || ");
-                edgeTo[v].addResidualFlow(v, bottleneckCapacity);
-                System.out.println("After Adding Residual Flow: " + edgeTo[v]);
+                FlowEdge edge = edgeTo[v];
+                int flowBefore = edge.getFlow();
+                edge.addResidualFlow(v, bottleneckCapacity);
+                if (tracing) {
+                    listener.onEdgeAugmented(edge.from(), edge.to(), edge.getCapacity(), flowBefore, edge.getFlow());
+                }
             }
 
             // an augmenting path was created
             augmentingPaths++;
-            printDetails(bottleneckCapacity, augmentingPaths);
+            addToFlowValue(bottleneckCapacity, augmentingPaths, tracing, listener);
+        }
+
+        // every bottleneck was added to the flow value, so it is also the bottleneck sum
+        SolverMetrics.get().recordSolve("edmondscarp", VERTICES, flowNetwork.getNumberOfEdges(),
+                System.nanoTime() - startNanos, search.getSearches() - searchesBefore,
+                search.getEdgesExamined() - edgesBefore, search.getVerticesDequeued() - dequeuedBefore,
+                augmentingPaths, flowValue, flowValue);
+
+        if (tracing) {
+            listener.onFinish(flowValue, augmentingPaths);
         }
     }
 
     /**
-     * Print some details about each iteration
+     * Initialize and perform the operations in computing the max flow of the passed compact flowNetwork
+     * Same algorithm as above, the path is held as arc indices instead of FlowEdges
+     * @param flowNetwork - the CompactFlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1 or when source and target
+     * are same
+     */
+    public EdmondsCarp(CompactFlowNetwork flowNetwork, int source, int target) {
+        this(flowNetwork, source, target, SolveListener.NONE);
+    }
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed compact flowNetwork
+     * Every step is reported to the listener, nothing is printed by the solver itself
+     * @param flowNetwork - the CompactFlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @param listener - where to report each step, SolveListener.NONE to skip reporting entirely
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1 or when source and target
+     * are same
+     */
+    public EdmondsCarp(CompactFlowNetwork flowNetwork, int source, int target, SolveListener listener) {
+        this(flowNetwork, source, target, listener, new AugmentingPathSearch(flowNetwork.getNumberOfVertices()));
+    }
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed compact flowNetwork
+     * Augmenting paths are found by the given search, such as a ParallelAugmentingPathSearch for very large networks
+     * @param flowNetwork - the CompactFlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @param listener - where to report each step, SolveListener.NONE to skip reporting entirely
+     * @param search - search to find the augmenting paths with, created for the networks number of vertices
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1, when source and target
+     * are same or the search is for a different number of vertices
+     */
+    public EdmondsCarp(CompactFlowNetwork flowNetwork, int source, int target, SolveListener listener,
+                       AugmentingPathSearch search) {
+        this(flowNetwork, source, target, listener, search, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Only find out whether the compact network can carry flowLimit, the flow stops at exactly flowLimit
+     * @param flowNetwork - the CompactFlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @param flowLimit - flow at which to stop
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1, when source and target
+     * are same or the flow limit is negative
+     */
+    public EdmondsCarp(CompactFlowNetwork flowNetwork, int source, int target, int flowLimit) {
+        this(flowNetwork, source, target, SolveListener.NONE,
+                new AugmentingPathSearch(flowNetwork.getNumberOfVertices()), flowLimit);
+    }
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed compact flowNetwork, up to a flow
+     * limit
+     * @param flowNetwork - the CompactFlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @param listener - where to report each step, SolveListener.NONE to skip reporting entirely
+     * @param search - search to find the augmenting paths with, created for the networks number of vertices
+     * @param flowLimit - flow at which to stop, Integer.MAX_VALUE for the max flow
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1, when source and target
+     * are same, the search is for a different number of vertices or the flow limit is negative
+     */
+    public EdmondsCarp(CompactFlowNetwork flowNetwork, int source, int target, SolveListener listener,
+                       AugmentingPathSearch search, int flowLimit) {
+        this.flowValue = 0;
+        int augmentingPaths = 0;
+        this.VERTICES = flowNetwork.getNumberOfVertices();
+        this.FLOW_LIMIT = flowLimit;
+
+        // check to see whether source and target are valid vertices
+        validVertex(source);
+        validVertex(target);
+
+        // same source and target no flow
+        if (source == target) {
+            throw new IllegalArgumentException("[ERROR] --> Source and target are the same");
+        }
+        validFlowLimit(flowLimit);
+
+        boolean tracing = listener != SolveListener.NONE;
+        if (tracing) {
+            listener.onStart(flowNetwork.getNumberOfEdges(), flowNetwork.getNumberOfVertices());
+        }
+
+        int[] arcTo = new int[VERTICES];
+        this.search = search;
+        long startNanos = System.nanoTime();
+        long searchesBefore = search.getSearches();
+        long edgesBefore = search.getEdgesExamined();
+        long dequeuedBefore = search.getVerticesDequeued();
+        while (flowValue < FLOW_LIMIT && search.search(flowNetwork, source, target, arcTo)) {
+            int bottleneckCapacity = FLOW_LIMIT - flowValue;
+
+            // go backwards along the path, the arc used to reach v starts at its tail
+            for (int v = target; v != source; v = flowNetwork.tail(arcTo[v])) {
+                bottleneckCapacity = Math.min(bottleneckCapacity, flowNetwork.residualCapacity(arcTo[v]));
+            }
+
+            for (int v = target; v != source; v = flowNetwork.tail(arcTo[v])) {
+                // report the edge as it was given, through its forward arc
+                int forward = flowNetwork.forwardArc(arcTo[v]);
+                int flowBefore = flowNetwork.getFlow(forward);
+                flowNetwork.addResidualFlow(arcTo[v], bottleneckCapacity);
+                if (tracing) {
+                    listener.onEdgeAugmented(flowNetwork.tail(forward), flowNetwork.head(forward),
+                            flowNetwork.getCapacity(forward), flowBefore, flowNetwork.getFlow(forward));
+                }
+            }
+
+            augmentingPaths++;
+            addToFlowValue(bottleneckCapacity, augmentingPaths, tracing, listener);
+        }
+
+        SolverMetrics.get().recordSolve("edmondscarp", VERTICES, flowNetwork.getNumberOfEdges(),
+                System.nanoTime() - startNanos, search.getSearches() - searchesBefore,
+                search.getEdgesExamined() - edgesBefore, search.getVerticesDequeued() - dequeuedBefore,
+                augmentingPaths, flowValue, flowValue);
+
+        if (tracing) {
+            listener.onFinish(flowValue, augmentingPaths);
+        }
+    }
+
+    /**
+     * Add the bottleneck of an iteration to the flow value and report the iteration
      * @param bottleneckCapacity - amount of flow for an iteration
      * @param augmentingPaths - current number of augmenting path
+     * @param tracing - whether there is a listener to report to
+     * @param listener - where to report the iteration
      */
-    private void printDetails(int bottleneckCapacity, int augmentingPaths) {
-        System.out.println("Augmenting Path: " + augmentingPaths);
-        System.out.println("Bottleneck Capacity: " + bottleneckCapacity);
-        System.out.print("Flow Value Incrementing from: " + flowValue + " to: ");
+    private void addToFlowValue(int bottleneckCapacity, int augmentingPaths, boolean tracing, SolveListener listener) {
+        int flowBefore = flowValue;
 
         // add to flow value, the current bottleneck
         flowValue += bottleneckCapacity;
 
-        System.out.println(flowValue);
-        System.out.println();
+        if (tracing) {
+            listener.onAugmentingPath(augmentingPaths, bottleneckCapacity, flowBefore, flowValue);
+        }
     }
 
     /**
@@ -96,17 +322,35 @@ public class EdmondsCarp {
      * @return whether there's an augmenting path
      */
     private boolean hasAugmentingPath(FlowNetwork flowNetwork, int source, int target) {
-        edgeTo = new FlowEdge[flowNetwork.getNumberOfVertices()];
-        return flowNetwork.breadthFirstSearch(source, edgeTo, target);
+        return search.search(flowNetwork, source, target, edgeTo);
     }
 
     /**
-     * @return graphs max flow
+     * @return graphs max flow, or with a flow limit the smaller of the max flow and the limit
      */
     public int getFlowValue() {
         return flowValue;
     }
 
+    /**
+     * @return whether the flow reached the flow limit, so the network can carry at least that much, always false
+     * without a limit
+     */
+    public boolean reachedFlowLimit() {
+        return FLOW_LIMIT != Integer.MAX_VALUE && flowValue == FLOW_LIMIT;
+    }
+
+    /**
+     * flow limit validation
+     * @param flowLimit - which flow limit to validate
+     * @throws IllegalArgumentException if the flow limit is negative
+     */
+    private static void validFlowLimit(int flowLimit) {
+        if (flowLimit < 0) {
+            throw new IllegalArgumentException("[ERROR] --> Negative flow limit not allowed");
+        }
+    }
+
     /**
      * vertex validation
      * @param vertex - which vertex to validate
@@ -0,0 +1,313 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: FastFileParser API, parses the same text files as
+                FileParser straight from bytes into int arrays
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * FastFileParser API, a drop in replacement for FileParser on large inputs
+ * Reads the file through a FileChannel in large blocks and turns the digits into ints directly from the bytes,
+ * there is no Scanner, no String per line or token, and no boxed Integer or list per edge
+ * The edges end up in three int arrays (from, to, capacity), which FlowNetwork and CompactFlowNetwork can be built from
+ * Or, with parse(file, edgeSink), each edge is handed to an EdgeSink as it is read and no arrays are kept at all
+ * Accepts the same format and reports the same errors as FileParser, spaces and tabs between the numbers of a line
+ * may be repeated and blank lines are skipped
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class FastFileParser {
+    private static final int BLOCK_SIZE = 1 << 20;     // bytes read from the file at a time
+
+    private int source;         // source of Network
+    private int sink;           // target of Network
+    private int vertices;       // Number of vertices
+    private int edges;          // Number of edges
+    private int[] from;         // vertex each edge starts at
+    private int[] to;           // vertex each edge goes to
+    private int[] capacity;     // capacity of each edge
+    private int[] cost;         // cost of each edge, only created once a line has a cost
+
+    /**
+     * Constructor to initialize and determine
+     * @param file - which file to read
+     * @throws Exception - thrown if specified file cannot be found, or file not in expected format
+     */
+    public FastFileParser(String file) throws Exception {
+        long startNanos = System.nanoTime();
+
+        // edge lines of the shipped files are 6 to 15 bytes long, the arrays grow if the guess is too small
+        long size = new File(file).length();
+        int guess = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(16, size / 10));
+        this.from = new int[guess];
+        this.to = new int[guess];
+        this.capacity = new int[guess];
+
+        parse(file, new EdgeSink() {
+            @Override
+            public void setVertices(int vertexTotal) {
+                vertices = vertexTotal;
+            }
+
+            @Override
+            public void addEdge(int vertexFrom, int vertexTo, int edgeCapacity) {
+                storeEdge(vertexFrom, vertexTo, edgeCapacity, 0);
+            }
+
+            @Override
+            public void addEdge(int vertexFrom, int vertexTo, int edgeCapacity, int edgeCost) {
+                if (cost == null) {
+                    cost = new int[from.length];
+                }
+                storeEdge(vertexFrom, vertexTo, edgeCapacity, edgeCost);
+            }
+        });
+
+        // trim the arrays down to the edges actually read
+        this.from = Arrays.copyOf(from, edges);
+        this.to = Arrays.copyOf(to, edges);
+        this.capacity = Arrays.copyOf(capacity, edges);
+        if (cost != null) {
+            this.cost = Arrays.copyOf(cost, edges);
+        }
+        this.setSink();
+        this.setSource();
+        SolverMetrics.get().recordParse(vertices, edges, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Stream a file into a sink, the vertex count is handed over first and then every edge as soon as its line is read
+     * Nothing is kept by the parser, so the sink decides how much memory the edges take
+     * @param file - which file to read
+     * @param edgeSink - where to send the vertex count and edges
+     * @throws Exception - thrown if specified file cannot be found, or file not in expected format
+     */
+    public static void parse(String file, EdgeSink edgeSink) throws Exception {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(file);
+        }
+
+        try {
+            parse(channel, edgeSink);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Will handle the parsing of data
+     * A small state machine over the bytes, so that numbers may be split across two blocks of the file
+     * The first line must hold exactly one integer, the vertex count, every line after it at least three, a fourth is
+     * the edges cost
+     * @param channel - the open file
+     * @param edgeSink - where to send the vertex count and edges
+     * @throws Exception if expected line format is not provided
+     */
+    private static void parse(FileChannel channel, EdgeSink edgeSink) throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+        byte[] bytes = buffer.array();
+
+        int[] line = new int[4];    // numbers of the current line
+        int count = 0;              // numbers completed on the current line
+        long value = 0;             // number currently being read
+        boolean inNumber = false;   // whether a digit has been read for the current number
+        boolean negative = false;   // whether the current number started with '-'
+        boolean signOnly = false;   // a '-' has been read but no digit yet
+        boolean firstLine = true;   // still on the vertex count line
+
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer);
+            boolean end = read < 0;
+            int length = end ? 1 : read;
+
+            for (int i = 0; i < length; i++) {
+                // the end of the file acts as a final line break
+                byte b = end ? (byte) '\n' : bytes[i];
+
+                if (b >= '0' && b <= '9') {
+                    value = value * 10 + (b - '0');
+                    if (value > Integer.MAX_VALUE + (negative ? 1L : 0L)) {
+                        throw lineError(firstLine);
+                    }
+                    inNumber = true;
+                    signOnly = false;
+                } else if (b == '-' && !inNumber && !signOnly) {
+                    negative = true;
+                    signOnly = true;
+                } else if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                    if (signOnly) {
+                        throw lineError(firstLine);
+                    }
+                    if (inNumber) {
+                        // only the first four numbers of a line are used, any further ones are ignored
+                        if (count < 4) {
+                            line[count] = (int) (negative ? -value : value);
+                        }
+                        count++;
+                        value = 0;
+                        inNumber = false;
+                        negative = false;
+                    }
+                    if (b == '\n') {
+                        if (firstLine) {
+                            if (count != 1) {
+                                throw lineError(true);
+                            }
+                            edgeSink.setVertices(line[0]);
+                            firstLine = false;
+                        } else if (count > 0) {
+                            if (count < 3) {
+                                throw lineError(false);
+                            }
+                            if (count == 3) {
+                                edgeSink.addEdge(line[0], line[1], line[2]);
+                            } else {
+                                edgeSink.addEdge(line[0], line[1], line[2], line[3]);
+                            }
+                        }
+                        count = 0;
+                    }
+                } else {
+                    throw lineError(firstLine);
+                }
+            }
+
+            // an empty file ends on the first line, which the final line break above reports
+            if (end) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Store one edge, growing the arrays when they are full
+     * @param vertexFrom - from vertex of the edge
+     * @param vertexTo - to vertex of the edge
+     * @param edgeCapacity - capacity of the edge
+     * @param edgeCost - cost of the edge, only kept once the cost array exists
+     */
+    private void storeEdge(int vertexFrom, int vertexTo, int edgeCapacity, int edgeCost) {
+        if (edges == from.length) {
+            int grown = (int) Math.min(Integer.MAX_VALUE - 8, from.length * 3L / 2 + 16);
+            from = Arrays.copyOf(from, grown);
+            to = Arrays.copyOf(to, grown);
+            capacity = Arrays.copyOf(capacity, grown);
+            if (cost != null) {
+                cost = Arrays.copyOf(cost, grown);
+            }
+        }
+        from[edges] = vertexFrom;
+        to[edges] = vertexTo;
+        capacity[edges] = edgeCapacity;
+        if (cost != null) {
+            cost[edges] = edgeCost;
+        }
+        edges++;
+    }
+
+    /**
+     * @param firstLine - whether the error is on the vertex count line
+     * @return the same exception FileParser throws for the line
+     */
+    private static Exception lineError(boolean firstLine) {
+        if (firstLine) {
+            return new Exception("[ERROR] --> file is empty OR the first line is not of right format");
+        }
+        return new Exception("[ERROR] --> this line is not in the expected format of 3 or 4 space separated integers");
+    }
+
+    /**
+     * @return vertex each edge starts at, indexed by edge in file order
+     */
+    public int[] getFrom() {
+        return this.from;
+    }
+
+    /**
+     * @return vertex each edge goes to, indexed by edge in file order
+     */
+    public int[] getTo() {
+        return this.to;
+    }
+
+    /**
+     * @return capacity of each edge, indexed by edge in file order
+     */
+    public int[] getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * @return cost of each edge, indexed by edge in file order, null if no line of the file has a cost
+     */
+    public int[] getCost() {
+        return this.cost;
+    }
+
+    /**
+     * @return total edges in the specified file
+     */
+    public int getEdgesTotal() {
+        return this.edges;
+    }
+
+    /**
+     * @return source vertex of file
+     */
+    public int getSource() {
+        return this.source;
+    }
+
+    /**
+     * @return sink (target) vertex of file
+     */
+    public int getSink() {
+        return this.sink;
+    }
+
+    /**
+     * @return total number of vertices
+     */
+    public int getVerticesTotal() {
+        return this.vertices;
+    }
+
+    /**
+     * Set source. Source is always 0
+     */
+    private void setSource() {
+        this.source = 0;
+    }
+
+    /**
+     * Set Sink. Sink = #Vertices - 1
+     */
+    private void setSink() {
+        this.sink = this.vertices - 1;
+    }
+
+    /**
+     * Overrun toString()
+     * @return what to display when printing the FastFileParser
+     */
+    @Override
+    public String toString() {
+        return "Edges: " + getEdgesTotal() + " " + " Vertices: " + getVerticesTotal() + " Sink: " + getSink()
+                + " Source: " + getSource();
+    }
+}
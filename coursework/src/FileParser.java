@@ -35,6 +35,7 @@ public class FileParser {
      * @throws Exception - thrown if specified file cannot be found, or file not in expected format
      */
     public FileParser(String file) throws Exception {
+        long startNanos = System.nanoTime();
         FileReader FILE_READER = new FileReader(file);
         this.SCANNER = new Scanner(FILE_READER);
         this.edgeData = new ArrayList<>();
@@ -42,6 +43,7 @@ public class FileParser {
         this.setSink();
         this.setSource();
         this.parseAndSetEdges();
+        SolverMetrics.get().recordParse(vertices, edges, System.nanoTime() - startNanos);
     }
 
     /**
@@ -94,11 +96,16 @@ public class FileParser {
                 int vertexFrom = Integer.parseInt(eachLine[0]);
                 int vertexTo = Integer.parseInt(eachLine[1]);
                 int capacity = Integer.parseInt(eachLine[2]);
-                // store each edge data separately at index v
-                this.edgeData.add(new ArrayList<>(Arrays.asList(vertexFrom, vertexTo, capacity)));
+                // store each edge data separately at index v, with its cost when the line has a fourth column
+                if (eachLine.length > 3) {
+                    this.edgeData.add(new ArrayList<>(Arrays.asList(vertexFrom, vertexTo, capacity,
+                            Integer.parseInt(eachLine[3]))));
+                } else {
+                    this.edgeData.add(new ArrayList<>(Arrays.asList(vertexFrom, vertexTo, capacity)));
+                }
                 this.edges++;
             } catch (Exception e) {
-                throw new Exception("[ERROR] --> this line is not in the expected format of 3 space separated integers");
+                throw new Exception("[ERROR] --> this line is not in the expected format of 3 or 4 space separated integers");
             }
         }
     }
@@ -148,5 +155,5 @@ public class FileParser {
  * first line -1 -> sink
  * 0 -> source
  * second line onwards -> edges
- * each edge line -> vertex from, vertex to, capacity
+ * each edge line -> vertex from, vertex to, capacity, optionally cost
  *-------------------------------------------------------------*/
\ No newline at end of file
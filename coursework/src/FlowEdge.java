@@ -9,7 +9,7 @@
 
 /**
  * FlowEdge API, which will be used to represent the Edges in the data structure
- * Each edge has a vertex from and a vertex to, a capacity and a flow
+ * Each edge has a vertex from and a vertex to, a capacity and a flow, and a cost per unit of flow for min cost flows
  * This API provides methods for accessing the other end of a vertex, altering amount of flow
  * and determining the residual capacity
  * @version 1.x March 6th 2021
@@ -18,7 +18,8 @@
 public class FlowEdge {
     private final int VERTEX_FROM; // Backward (Start Vertex, Pointing FROM vertex)
     private final int VERTEX_TO;   // Forward (End Vertex, Pointing TO wards vertex)
-    private final int CAPACITY;    // this edges capacity
+    private int capacity;          // this edges capacity, only changed through setCapacity
+    private final int COST;        // cost of each unit of flow, 0 unless given, may be negative
 
     private int flow;              // edge flow - will change depending on the augmented path
 
@@ -30,6 +31,18 @@ public class FlowEdge {
      * @throws IllegalArgumentException when parameters are non-negative integers or arguments are invalid completely
      */
     public FlowEdge(int vertexFrom, int vertexTo, int capacity) {
+        this(vertexFrom, vertexTo, capacity, 0);
+    }
+
+    /**
+     * Initialize a FlowEdge with a cost per unit of flow
+     * @param vertexFrom - from vertex this
+     * @param vertexTo - to vertex this
+     * @param capacity - the capacity this edge can hold
+     * @param cost - cost of each unit of flow, may be negative
+     * @throws IllegalArgumentException when from, to or capacity are not non-negative integers
+     */
+    public FlowEdge(int vertexFrom, int vertexTo, int capacity, int cost) {
         // only positive integers are allowed
         if (vertexFrom < 0 || vertexTo < 0 || capacity < 0) {
             throw new IllegalArgumentException("[ERROR] --> from, to, and capacity must be non-negative integers");
@@ -38,7 +51,8 @@ public class FlowEdge {
         try {
             this.VERTEX_FROM = vertexFrom;
             this.VERTEX_TO = vertexTo;
-            this.CAPACITY = capacity;
+            this.capacity = capacity;
+            this.COST = cost;
         } catch (Exception e) {
             throw new IllegalArgumentException("[ERROR] --> Illegal Arguments passed");
         }
@@ -62,7 +76,47 @@ public class FlowEdge {
      * @return this edges capacity
      */
     public int getCapacity() {
-        return this.CAPACITY;
+        return this.capacity;
+    }
+
+    /**
+     * @return this edges cost per unit of flow
+     */
+    public int getCost() {
+        return this.COST;
+    }
+
+    /**
+     * Gets the cost of sending one more unit of flow towards vertex, the residual counterpart of the cost
+     * Sending flow backwards takes it off the edge, so it gives the cost back
+     * @param vertex - passed
+     * @return the cost of a unit of residual flow towards vertex
+     * @throws IllegalArgumentException if the specified vertex is not proper
+     */
+    public int residualCost(int vertex) {
+        // backward edge
+        if (vertex == VERTEX_FROM) {
+            return -COST;
+        }
+        // forward edge
+        else if (vertex == VERTEX_TO) {
+            return COST;
+        } throw new IllegalArgumentException("[ERROR] --> Illegal Vertex, vertex specified is neither a from or to");
+    }
+
+    /**
+     * Change the capacity of this edge, the flow it carries has to fit within the new capacity
+     * @param capacity - the new capacity
+     * @throws IllegalArgumentException if capacity is negative or below the current flow
+     */
+    public void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("[ERROR] --> capacity must be a non-negative integer");
+        }
+        if (capacity < flow) {
+            throw new IllegalArgumentException("[ERROR] --> capacity must not be below the current flow");
+        }
+        this.capacity = capacity;
     }
 
     /**
@@ -99,7 +153,7 @@ public class FlowEdge {
         }
         // forward edge, vertex = w means V->W
         else if (vertex == VERTEX_TO) {
-            return CAPACITY - flow;
+            return capacity - flow;
         } throw new IllegalArgumentException("[ERROR] --> Illegal Vertex, vertex specified is neither a from or to");
     }
 
@@ -131,7 +185,7 @@ public class FlowEdge {
         if (flow < 0) {
             throw new IllegalArgumentException("[ERROR] --> Flow must be positive");
         }
-        if (flow > CAPACITY) {
+        if (flow > capacity) {
             throw new IllegalArgumentException("[ERROR] --> Flow must not exceed allowed capacity");
         }
     }
@@ -142,7 +196,7 @@ public class FlowEdge {
      */
     @Override
     public String toString() {
-        return "Flow Edge: " + VERTEX_FROM + "->" + VERTEX_TO + ", Flow: " + flow + ", Capacity: " + CAPACITY;
+        return "Flow Edge: " + VERTEX_FROM + "->" + VERTEX_TO + ", Flow: " + flow + ", Capacity: " + capacity;
     }
 }
 
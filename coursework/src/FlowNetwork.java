@@ -53,22 +53,75 @@ public class FlowNetwork {
     public FlowNetwork(FileParser parser) {
         // call previous constructor to initialize
         this(parser.getVerticesTotal());
+        long startNanos = System.nanoTime();
 
         // Number of edges & vertices are defined in the data file itself, as specified
-        this.edges = parser.getEdgesTotal();
+        // the edge total is counted up again by addEdge
+        int edgesTotal = parser.getEdgesTotal();
         this.vertices = parser.getVerticesTotal();
 
-        if (this.edges < 0 || this.vertices < 0) {
+        if (edgesTotal < 0 || this.vertices < 0) {
             throw new IllegalArgumentException("[ERROR] --> Negative edges or vertices not allowed");
         }
 
         // Add all the read edges into the Network
-        for (int i = 0; i < this.edges; i++) {
+        for (int i = 0; i < edgesTotal; i++) {
             int vertexFrom = parser.getEdgeData().get(i).get(0);
             int vertexTo = parser.getEdgeData().get(i).get(1);
             int capacity = parser.getEdgeData().get(i).get(2);
-            addEdge(new FlowEdge(vertexFrom, vertexTo, capacity));
+            int cost = parser.getEdgeData().get(i).size() > 3 ? parser.getEdgeData().get(i).get(3) : 0;
+            addEdge(new FlowEdge(vertexFrom, vertexTo, capacity, cost));
         }
+        SolverMetrics.get().recordBuild(vertices, edges, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Initialize flow network based on an input file read by the FastFileParser
+     * @param parser - object of FastFileParser
+     * @throws IllegalArgumentException - if edges or vertices value are less than 0, or an edge is not valid
+     */
+    public FlowNetwork(FastFileParser parser) {
+        this(parser.getVerticesTotal());
+        long startNanos = System.nanoTime();
+
+        int[] from = parser.getFrom();
+        int[] to = parser.getTo();
+        int[] capacity = parser.getCapacity();
+        int[] cost = parser.getCost();
+        for (int i = 0; i < parser.getEdgesTotal(); i++) {
+            addEdge(new FlowEdge(from[i], to[i], capacity[i], cost == null ? 0 : cost[i]));
+        }
+        SolverMetrics.get().recordBuild(vertices, edges, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Build a flow network while the file is being read, each edge goes straight from the parser into the network
+     * Unlike going through a parser object, the edges are never held in a separate list or array first
+     * @param file - which file to read, binary or in the FileParser format
+     * @return the network of the file
+     * @throws Exception - thrown if specified file cannot be found, file not in expected format, or an edge is not valid
+     */
+    public static FlowNetwork fromFile(String file) throws Exception {
+        long startNanos = System.nanoTime();
+        final FlowNetwork[] network = new FlowNetwork[1];
+        BinaryGraphFile.readAny(file, new EdgeSink() {
+            @Override
+            public void setVertices(int vertices) {
+                network[0] = new FlowNetwork(vertices);
+            }
+
+            @Override
+            public void addEdge(int vertexFrom, int vertexTo, int capacity) {
+                network[0].addEdge(new FlowEdge(vertexFrom, vertexTo, capacity));
+            }
+
+            @Override
+            public void addEdge(int vertexFrom, int vertexTo, int capacity, int cost) {
+                network[0].addEdge(new FlowEdge(vertexFrom, vertexTo, capacity, cost));
+            }
+        });
+        SolverMetrics.get().recordLoad(network[0].vertices, network[0].edges, System.nanoTime() - startNanos);
+        return network[0];
     }
 
     /**
@@ -88,6 +141,9 @@ public class FlowNetwork {
         // at the obtained vertices, add the edge, into their adjacency lists
         ADJACENCY_LIST.get(vertexFrom).add(edge);
         ADJACENCY_LIST.get(vertexTo).add(edge);
+
+        // total number of edges increases by 1 upon edge addition, so that deleteEdge balances it
+        this.edges++;
     }
 
     /**
@@ -113,6 +169,7 @@ public class FlowNetwork {
 
     /**
      * Implements the Breadth First Search Algorithm, which will be used to find the Augmenting Path
+     * Allocates its own marks and queue on every call, see AugmentingPathSearch for a reusable version
      * @param source - network source
      * @param edgeTo - vertex path
      * @param target - network sink
@@ -142,6 +199,10 @@ public class FlowNetwork {
                 if (edge.residualCapacity(vertexTo) > 0 && !marked[vertexTo]) {
                     edgeTo[vertexTo] = edge;
                     marked[vertexTo] = true;
+                    // the path to the target is complete, no need to look at the rest of the network
+                    if (vertexTo == target) {
+                        return true;
+                    }
                     q.add(vertexTo);
                 }
             }
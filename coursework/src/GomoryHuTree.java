@@ -0,0 +1,287 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: GomoryHuTree API, computes the min cut between every
+                pair of vertices at once with V-1 max flows
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * GomoryHuTree API, a tree over the vertices of a network in which the min cut between any two vertices is the
+ * smallest weight on the tree path between them, so any pair can be answered without solving another max flow
+ * Built with Gusfield's method: vertex s = 1 .. V-1 is cut from its current tree parent with one max flow (Dinic), the
+ * flow value becomes the weight of the tree edge, and every later vertex on s's side of the cut that had the same
+ * parent is moved under s
+ * Min cuts only form such a tree when cuts are symmetric, so the network is read as undirected: an edge u->v of
+ * capacity c can carry c in either direction, and the value answered for u, v is the min cut between them in both
+ * directions. For a directed network this is not the same as EdmondsCarp's u to v max flow
+ *
+ * The max flows depend on each other only through the parents, so they are computed speculatively in batches, one
+ * per thread: every vertex of a batch is cut from the parent it has when the batch starts, and the results are applied
+ * in order. A result whose vertex was given a new parent by an earlier one is dropped and computed again in a later
+ * batch, while results further on that are still valid are kept. The first vertex of a batch is never dropped
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class GomoryHuTree {
+    private final int VERTICES;                 // Number of vertices
+    private final int THREADS;                  // number of max flows computed at once
+    private final int[] PARENT;                 // parent of each vertex in the tree, vertex 0 is the root
+    private final int[] WEIGHT;                 // min cut between each vertex and its parent, unused for the root
+    private final int[] DEPTH;                  // number of tree edges between each vertex and the root
+    private int flowComputations;               // max flows solved, dropped ones included
+
+    /**
+     * Result of cutting one vertex from its parent
+     */
+    private static class Cut {
+        private final int parent;               // parent the vertex was cut from
+        private final int value;                // min cut value
+        private final boolean[] sourceSide;     // vertices on the vertex's side of the cut
+
+        Cut(int parent, int value, boolean[] sourceSide) {
+            this.parent = parent;
+            this.value = value;
+            this.sourceSide = sourceSide;
+        }
+    }
+
+    /**
+     * Build the tree of the passed flowNetwork, with one thread per processor
+     * @param flowNetwork - the FlowNetwork to build the tree of, read as undirected, its flows are not changed
+     */
+    public GomoryHuTree(FlowNetwork flowNetwork) {
+        this(flowNetwork, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Build the tree of the passed flowNetwork
+     * @param flowNetwork - the FlowNetwork to build the tree of, read as undirected, its flows are not changed
+     * @param threads - number of max flows computed at once
+     * @throws IllegalArgumentException if threads is not positive
+     */
+    public GomoryHuTree(FlowNetwork flowNetwork, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("[ERROR] --> Need at least one thread");
+        }
+        this.VERTICES = flowNetwork.getNumberOfVertices();
+        this.THREADS = Math.max(1, Math.min(threads, VERTICES - 1));
+        this.PARENT = new int[VERTICES];
+        this.WEIGHT = new int[VERTICES];
+        this.DEPTH = new int[VERTICES];
+
+        // every edge becomes a pair of opposite edges of the same capacity, self loops never cross a cut
+        List<int[]> edges = new ArrayList<>();
+        for (int v = 0; v < VERTICES; v++) {
+            for (FlowEdge edge : flowNetwork.getAdjacent(v)) {
+                if (edge.from() == v && edge.from() != edge.to()) {
+                    edges.add(new int[] {edge.from(), edge.to(), edge.getCapacity()});
+                }
+            }
+        }
+        int[] from = new int[2 * edges.size()];
+        int[] to = new int[2 * edges.size()];
+        int[] capacity = new int[2 * edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            int[] edge = edges.get(i);
+            from[2 * i] = edge[0];
+            to[2 * i] = edge[1];
+            from[2 * i + 1] = edge[1];
+            to[2 * i + 1] = edge[0];
+            capacity[2 * i] = edge[2];
+            capacity[2 * i + 1] = edge[2];
+        }
+
+        // each thread solves on its own query network, the flows of one max flow must not be seen by another
+        CompactFlowNetwork undirected = new CompactFlowNetwork(VERTICES, from, to, capacity);
+        final CompactFlowNetwork[] networks = new CompactFlowNetwork[THREADS];
+        final AugmentingPathSearch[] searches = new AugmentingPathSearch[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            networks[i] = undirected.newQuery();
+            searches[i] = new AugmentingPathSearch(VERTICES);
+        }
+
+        ExecutorService workers = THREADS > 1 ? Executors.newFixedThreadPool(THREADS) : null;
+        Cut[] pending = new Cut[VERTICES];      // results computed ahead of their turn, by vertex
+        try {
+            int vertex = 1;
+            while (vertex < VERTICES) {
+                // the next vertices without a result for their current parent, the first one is always among them
+                int[] batch = new int[THREADS];
+                int size = 0;
+                for (int v = vertex; v < VERTICES && v < vertex + 2 * THREADS && size < THREADS; v++) {
+                    if (pending[v] == null || pending[v].parent != PARENT[v]) {
+                        batch[size++] = v;
+                    }
+                }
+                if (workers == null) {
+                    pending[vertex] = cut(networks[0], searches[0], vertex, PARENT[vertex]);
+                } else {
+                    List<Future<Cut>> futures = new ArrayList<>();
+                    for (int i = 0; i < size; i++) {
+                        final int slot = i;
+                        final int source = batch[i];
+                        final int target = PARENT[source];
+                        futures.add(workers.submit(new Callable<Cut>() {
+                            @Override
+                            public Cut call() {
+                                return cut(networks[slot], searches[slot], source, target);
+                            }
+                        }));
+                    }
+                    for (int i = 0; i < size; i++) {
+                        pending[batch[i]] = await(futures.get(i));
+                    }
+                }
+                flowComputations += size;
+
+                // apply in order, up to the first vertex whose parent has changed since its result was computed
+                while (vertex < VERTICES && pending[vertex] != null && pending[vertex].parent == PARENT[vertex]) {
+                    apply(vertex, pending[vertex]);
+                    pending[vertex] = null;
+                    vertex++;
+                }
+            }
+        } finally {
+            if (workers != null) {
+                workers.shutdownNow();
+            }
+        }
+
+        // a parent is always an earlier vertex, so its depth is known first
+        for (int v = 1; v < VERTICES; v++) {
+            DEPTH[v] = DEPTH[PARENT[v]] + 1;
+        }
+    }
+
+    /**
+     * Solve the max flow between a vertex and its parent and find the vertex's side of the min cut
+     * @param network - a copy of the network only this call uses
+     * @param search - a search only this call uses
+     * @param source - the vertex
+     * @param target - its parent
+     * @return the cut
+     */
+    private static Cut cut(CompactFlowNetwork network, AugmentingPathSearch search, int source, int target) {
+        network.resetFlows();
+        int value = new Dinic(network, source, target).getFlowValue();
+
+        // the vertices still reachable in the residual network are the source side
+        int vertices = network.getNumberOfVertices();
+        search.search(network, source, target, new int[vertices]);
+        boolean[] sourceSide = new boolean[vertices];
+        for (int v = 0; v < vertices; v++) {
+            sourceSide[v] = search.isVisited(v);
+        }
+        return new Cut(target, value, sourceSide);
+    }
+
+    /**
+     * Gusfield's update, hang the vertex under its parent and move the later vertices on its side under it
+     * @param vertex - vertex that was cut
+     * @param cut - its cut
+     */
+    private void apply(int vertex, Cut cut) {
+        WEIGHT[vertex] = cut.value;
+        for (int v = vertex + 1; v < VERTICES; v++) {
+            if (cut.sourceSide[v] && PARENT[v] == cut.parent) {
+                PARENT[v] = vertex;
+            }
+        }
+    }
+
+    /**
+     * @param future - a submitted cut
+     * @return its result
+     * @throws IllegalStateException if the computation failed or the wait was interrupted
+     */
+    private static Cut await(Future<Cut> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("[ERROR] --> Interrupted while building the tree", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("[ERROR] --> Max flow of the tree failed", e.getCause());
+        }
+    }
+
+    /**
+     * Min cut between two vertices, the smallest weight on the tree path between them
+     * Takes time proportional to the length of that path
+     * @param u - one vertex
+     * @param v - the other vertex
+     * @return the min cut value, the max flow between them in the undirected reading of the network
+     * @throws IllegalArgumentException if u or v are out of bounds of 0 and V-1 or when they are the same
+     */
+    public int minCut(int u, int v) {
+        validVertex(u);
+        validVertex(v);
+        if (u == v) {
+            throw new IllegalArgumentException("[ERROR] --> Source and target are the same");
+        }
+        int min = Integer.MAX_VALUE;
+        while (u != v) {
+            if (DEPTH[u] >= DEPTH[v]) {
+                min = Math.min(min, WEIGHT[u]);
+                u = PARENT[u];
+            } else {
+                min = Math.min(min, WEIGHT[v]);
+                v = PARENT[v];
+            }
+        }
+        return min;
+    }
+
+    /**
+     * @param vertex - which vertex
+     * @return its parent in the tree, the root 0 is its own parent
+     * @throws IllegalArgumentException if vertex is out of bounds of 0 and V-1
+     */
+    public int getParent(int vertex) {
+        validVertex(vertex);
+        return PARENT[vertex];
+    }
+
+    /**
+     * @param vertex - which vertex, not the root
+     * @return weight of the tree edge to its parent, the min cut between the two
+     * @throws IllegalArgumentException if vertex is out of bounds of 1 and V-1
+     */
+    public int getWeight(int vertex) {
+        validVertex(vertex);
+        if (vertex == 0) {
+            throw new IllegalArgumentException("[ERROR] --> The root has no tree edge");
+        }
+        return WEIGHT[vertex];
+    }
+
+    /**
+     * @return number of max flows solved, V-1 plus the speculative ones that were dropped
+     */
+    public int getFlowComputations() {
+        return flowComputations;
+    }
+
+    /**
+     * vertex validation
+     * @param vertex - which vertex to validate
+     * @throws IllegalArgumentException if vertex is out of bounds of 0 and V
+     * starts from 0, therefore will go till total-1
+     */
+    private void validVertex(int vertex) {
+        if (vertex < 0 || vertex >= VERTICES) {
+            throw new IllegalArgumentException("[ERROR] --> Illegal vertex choice: It must be less than " + VERTICES +
+                    " and greater than 0");
+        }
+    }
+}
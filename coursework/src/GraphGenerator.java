@@ -0,0 +1,446 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: GraphGenerator API, writes synthetic networks of any
+                size in the text or binary network file format
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * GraphGenerator API, which produces networks far larger than the shipped test files, for benchmarks and stress tests
+ * The bridge and ladder families continue the shipped bridge_k and ladder_k files with the same capacity patterns,
+ * bridge(k) and ladder(k) for k = 1..9 reproduce those files exactly, and any larger k keeps doubling them
+ * The random, grid and layered networks take their capacities (and, for random and layered, their edges) from a seeded
+ * Random, so the same seed always gives the same file
+ * Every network is handed to an EdgeSink one edge at a time, nothing is held in memory, so files of 10^7 vertices and
+ * more are written in a single pass
+ * As in the FileParser format, the source is always vertex 0 and the sink always the last vertex
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class GraphGenerator {
+    private final Random RANDOM;        // where all random edges and capacities come from
+    private final int MAX_CAPACITY;     // random capacities are between 1 and this, inclusive
+
+    /**
+     * @param seed - seed of the random edges and capacities
+     * @param maxCapacity - largest random capacity
+     * @throws IllegalArgumentException if maxCapacity is not positive
+     */
+    public GraphGenerator(long seed, int maxCapacity) {
+        if (maxCapacity < 1) {
+            throw new IllegalArgumentException("[ERROR] --> Maximum capacity must be at least 1");
+        }
+        this.RANDOM = new Random(seed);
+        this.MAX_CAPACITY = maxCapacity;
+    }
+
+    /**
+     * The bridge family, 2^(k + 1) + 2 vertices
+     * A chain of capacity 1 edges from the source to the sink, with nested edges over the first half and crossing
+     * edges over the second, the max flow is always 2
+     * @param k - size of the network, bridge(k) is testFiles/bridge_k.txt
+     * @param edgeSink - where to send the vertex count and edges
+     * @throws IllegalArgumentException if k is not between 1 and 28
+     */
+    public static void bridge(int k, EdgeSink edgeSink) {
+        if (k < 1 || k > 28) {
+            throw new IllegalArgumentException("[ERROR] --> Bridge size must be between 1 and 28");
+        }
+        int vertices = (2 << k) + 2;
+        int last = vertices - 2;    // last vertex before the sink
+        int half = last / 2;
+
+        edgeSink.setVertices(vertices);
+        for (int i = 0; i <= last; i++) {
+            edgeSink.addEdge(i, i + 1, 1);
+            if (i < half) {
+                edgeSink.addEdge(i, last - i, last - 2 * i);
+            } else if (i < last) {
+                int j = i - half;
+                edgeSink.addEdge(half - j, half + 2 + j, 2 * j + 2);
+            }
+        }
+    }
+
+    /**
+     * The ladder family, 6 * 2^(k - 1) vertices
+     * A chain of capacity 1 edges, whose first and last edges carry half the vertex count, plus an edge skipping
+     * over each vertex, the max flow is 3 * 2^(k - 1) + 1
+     * @param k - size of the network, ladder(k) is testFiles/ladder_k.txt
+     * @param edgeSink - where to send the vertex count and edges
+     * @throws IllegalArgumentException if k is not between 1 and 28
+     */
+    public static void ladder(int k, EdgeSink edgeSink) {
+        if (k < 1 || k > 28) {
+            throw new IllegalArgumentException("[ERROR] --> Ladder size must be between 1 and 28");
+        }
+        int vertices = 6 << (k - 1);
+        int half = vertices / 2;
+
+        edgeSink.setVertices(vertices);
+        for (int i = 0; i < vertices - 1; i++) {
+            edgeSink.addEdge(i, i + 1, i == 0 || i == vertices - 2 ? half : 1);
+            if (i < vertices - 2) {
+                edgeSink.addEdge(i, i + 2, i % 2 == 1 ? half - (i + 1) / 2 : i / 2 + 1);
+            }
+        }
+    }
+
+    /**
+     * A random network, every edge joins two different vertices chosen uniformly at random
+     * Parallel edges can occur, and the sink need not be reachable when there are few edges
+     * @param vertices - number of vertices, at least 2
+     * @param edges - number of edges
+     * @param edgeSink - where to send the vertex count and edges
+     * @throws IllegalArgumentException if there are fewer than 2 vertices or the edge total is negative
+     */
+    public void random(int vertices, int edges, EdgeSink edgeSink) {
+        if (vertices < 2 || edges < 0) {
+            throw new IllegalArgumentException("[ERROR] --> A random network needs at least 2 vertices and no negative edge total");
+        }
+        edgeSink.setVertices(vertices);
+        for (int i = 0; i < edges; i++) {
+            int from = RANDOM.nextInt(vertices);
+            // pick from the other vertices only, so there are no self loops
+            int to = RANDOM.nextInt(vertices - 1);
+            if (to >= from) {
+                to++;
+            }
+            edgeSink.addEdge(from, to, capacity());
+        }
+    }
+
+    /**
+     * A grid network of rows x columns cells, with edges to the right, up and down between neighbouring cells
+     * The source feeds every cell of the first column and every cell of the last column feeds the sink
+     * Cell (row, column) is vertex 1 + row * columns + column
+     * @param rows - number of rows
+     * @param columns - number of columns
+     * @param edgeSink - where to send the vertex count and edges
+     * @throws IllegalArgumentException if a dimension is not positive or the network would be too large
+     */
+    public void grid(int rows, int columns, EdgeSink edgeSink) {
+        if (rows < 1 || columns < 1) {
+            throw new IllegalArgumentException("[ERROR] --> A grid needs at least 1 row and 1 column");
+        }
+        long cells = (long) rows * columns;
+        checkSize(cells + 2, 2L * rows + rows * (columns - 1L) + 2L * (rows - 1L) * columns);
+
+        int sink = (int) cells + 1;
+        edgeSink.setVertices(sink + 1);
+        for (int row = 0; row < rows; row++) {
+            int first = 1 + row * columns;
+            edgeSink.addEdge(0, first, capacity());
+            for (int column = 0; column < columns; column++) {
+                int cell = first + column;
+                if (column + 1 < columns) {
+                    edgeSink.addEdge(cell, cell + 1, capacity());
+                }
+                if (row > 0) {
+                    edgeSink.addEdge(cell, cell - columns, capacity());
+                }
+                if (row + 1 < rows) {
+                    edgeSink.addEdge(cell, cell + columns, capacity());
+                }
+            }
+            edgeSink.addEdge(first + columns - 1, sink, capacity());
+        }
+    }
+
+    /**
+     * A layered network, every vertex of a layer has edges to randomly chosen vertices of the next layer
+     * The source feeds every vertex of the first layer and every vertex of the last layer feeds the sink
+     * Vertex i of layer l is vertex 1 + l * width + i
+     * @param layers - number of layers
+     * @param width - vertices per layer
+     * @param degree - edges from each vertex to the next layer
+     * @param edgeSink - where to send the vertex count and edges
+     * @throws IllegalArgumentException if a dimension is not positive or the network would be too large
+     */
+    public void layered(int layers, int width, int degree, EdgeSink edgeSink) {
+        if (layers < 1 || width < 1 || degree < 1) {
+            throw new IllegalArgumentException("[ERROR] --> A layered network needs at least 1 layer, width and degree");
+        }
+        long inner = (long) layers * width;
+        checkSize(inner + 2, 2L * width + (layers - 1L) * width * degree);
+
+        int sink = (int) inner + 1;
+        edgeSink.setVertices(sink + 1);
+        for (int i = 0; i < width; i++) {
+            edgeSink.addEdge(0, 1 + i, capacity());
+        }
+        for (int layer = 0; layer + 1 < layers; layer++) {
+            int first = 1 + layer * width;
+            int next = first + width;
+            for (int i = 0; i < width; i++) {
+                for (int d = 0; d < degree; d++) {
+                    edgeSink.addEdge(first + i, next + RANDOM.nextInt(width), capacity());
+                }
+            }
+        }
+        int lastLayer = 1 + (layers - 1) * width;
+        for (int i = 0; i < width; i++) {
+            edgeSink.addEdge(lastLayer + i, sink, capacity());
+        }
+    }
+
+    /**
+     * @return a random capacity between 1 and MAX_CAPACITY
+     */
+    private int capacity() {
+        return 1 + RANDOM.nextInt(MAX_CAPACITY);
+    }
+
+    /**
+     * Make sure a network fits the file formats, whose vertex and edge totals are ints
+     * @param vertices - number of vertices the network would have
+     * @param edges - number of edges the network would have
+     * @throws IllegalArgumentException if either does not fit in an int
+     */
+    private static void checkSize(long vertices, long edges) {
+        if (vertices > Integer.MAX_VALUE || edges > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("[ERROR] --> Network is too large for the network file format");
+        }
+    }
+
+    /**
+     * Writes a network as a FileParser text file, the vertex count on the first line and then one edge per line
+     * The numbers are formatted straight into a byte buffer, so even very large networks are written quickly
+     * As with BinaryWriter, a temporary file next to the target only replaces it once it is complete
+     */
+    static class TextWriter implements EdgeSink {
+        private final File FILE;
+        private final File TEMPORARY;
+        private final OutputStream OUT;
+        private final byte[] BUFFER = new byte[1 << 16];
+        private int length;     // bytes of BUFFER in use
+
+        TextWriter(String file) throws IOException {
+            this.FILE = new File(file).getAbsoluteFile();
+            this.TEMPORARY = File.createTempFile("network", ".tmp", FILE.getParentFile());
+            this.OUT = new FileOutputStream(TEMPORARY);
+        }
+
+        @Override
+        public void setVertices(int vertices) {
+            append(vertices, '\n');
+        }
+
+        @Override
+        public void addEdge(int vertexFrom, int vertexTo, int capacity) {
+            append(vertexFrom, ' ');
+            append(vertexTo, ' ');
+            append(capacity, '\n');
+        }
+
+        /**
+         * Append a number and the character following it, flushing the buffer first if it might not fit
+         */
+        private void append(int value, char after) {
+            if (length > BUFFER.length - 16) {
+                flush();
+            }
+            long number = value;
+            if (number < 0) {
+                BUFFER[length++] = '-';
+                number = -number;
+            }
+            // digits are written backwards from the end of the number
+            int end = length + digits(number);
+            int position = end;
+            do {
+                BUFFER[--position] = (byte) ('0' + number % 10);
+                number /= 10;
+            } while (number > 0);
+            length = end;
+            BUFFER[length++] = (byte) after;
+        }
+
+        /**
+         * @return number of decimal digits of a non negative number
+         */
+        private static int digits(long number) {
+            int digits = 1;
+            while (number >= 10) {
+                number /= 10;
+                digits++;
+            }
+            return digits;
+        }
+
+        private void flush() {
+            try {
+                OUT.write(BUFFER, 0, length);
+            } catch (IOException e) {
+                throw new IllegalStateException("[ERROR] --> network file could not be written", e);
+            }
+            length = 0;
+        }
+
+        /**
+         * Write out the buffer, close the file and move it into place
+         * @throws IOException if the file cannot be written
+         */
+        void finish() throws IOException {
+            try {
+                try {
+                    flush();
+                } finally {
+                    OUT.close();
+                }
+                Files.move(TEMPORARY.toPath(), FILE.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(TEMPORARY.toPath());
+            }
+        }
+
+        /**
+         * Close and delete the temporary file after a failure, the target is left untouched
+         */
+        void abort() {
+            try {
+                OUT.close();
+            } catch (IOException e) {
+                // the file is deleted anyway
+            }
+            TEMPORARY.delete();
+        }
+    }
+
+    /**
+     * Generates one network and writes it to a file
+     * @param args - the family and its sizes, one of
+     *             "bridge k", "ladder k", "random vertices edges", "grid rows columns", "layered layers width degree"
+     *             - "--out=file" where to write the network (required)
+     *             - "--binary" writes the binary network format instead of text
+     *             - "--seed=N" seed of the random edges and capacities (default 1)
+     *             - "--capacity=N" largest random capacity (default 100)
+     */
+    public static void main(String[] args) {
+        List<String> positional = new ArrayList<>();
+        String out = null;
+        boolean binary = false;
+        long seed = 1;
+        int maxCapacity = 100;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--out=")) {
+                    out = arg.substring("--out=".length());
+                } else if (arg.equals("--binary")) {
+                    binary = true;
+                } else if (arg.startsWith("--seed=")) {
+                    seed = Long.parseLong(arg.substring("--seed=".length()));
+                } else if (arg.startsWith("--capacity=")) {
+                    maxCapacity = Integer.parseInt(arg.substring("--capacity=".length()));
+                } else if (arg.startsWith("--")) {
+                    System.out.println("[ERROR] --> Unknown option " + arg);
+                    return;
+                } else {
+                    positional.add(arg);
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("[ERROR] --> Option values must be integers");
+            return;
+        }
+        if (positional.isEmpty() || out == null) {
+            System.out.println("[ERROR] --> Usage: GraphGenerator <bridge k | ladder k | random vertices edges"
+                    + " | grid rows columns | layered layers width degree> --out=file [--binary] [--seed=N] [--capacity=N]");
+            return;
+        }
+
+        int[] sizes = new int[positional.size() - 1];
+        try {
+            for (int i = 0; i < sizes.length; i++) {
+                sizes[i] = Integer.parseInt(positional.get(i + 1));
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("[ERROR] --> Sizes must be integers");
+            return;
+        }
+
+        String family = positional.get(0);
+        int expected = family.equals("bridge") || family.equals("ladder") ? 1
+                : family.equals("random") || family.equals("grid") ? 2 : family.equals("layered") ? 3 : -1;
+        if (expected < 0) {
+            System.out.println("[ERROR] --> Unknown family " + family);
+            return;
+        }
+        if (sizes.length != expected) {
+            System.out.println("[ERROR] --> " + family + " takes " + expected + " size(s)");
+            return;
+        }
+
+        double startTime = System.currentTimeMillis() / 1000.0;
+        try {
+            GraphGenerator generator = new GraphGenerator(seed, maxCapacity);
+            if (binary) {
+                BinaryGraphFile.BinaryWriter writer = new BinaryGraphFile.BinaryWriter(out);
+                try {
+                    generator.generate(family, sizes, writer);
+                    writer.finish();
+                } catch (Exception e) {
+                    writer.abort();
+                    throw e;
+                }
+            } else {
+                TextWriter writer = new TextWriter(out);
+                try {
+                    generator.generate(family, sizes, writer);
+                    writer.finish();
+                } catch (Exception e) {
+                    writer.abort();
+                    throw e;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return;
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.out.println("[ERROR] --> stopping program...");
+            return;
+        }
+        double endTime = System.currentTimeMillis() / 1000.0;
+        System.out.println("Generated " + family + " network in " + out);
+        System.out.println("Time Taken: " + (endTime - startTime));
+    }
+
+    /**
+     * @param family - which family to generate
+     * @param sizes - the family's sizes, already checked to be the right number
+     * @param edgeSink - where to send the vertex count and edges
+     */
+    private void generate(String family, int[] sizes, EdgeSink edgeSink) {
+        switch (family) {
+            case "bridge":
+                bridge(sizes[0], edgeSink);
+                break;
+            case "ladder":
+                ladder(sizes[0], edgeSink);
+                break;
+            case "random":
+                random(sizes[0], sizes[1], edgeSink);
+                break;
+            case "grid":
+                grid(sizes[0], sizes[1], edgeSink);
+                break;
+            default:
+                layered(sizes[0], sizes[1], sizes[2], edgeSink);
+                break;
+        }
+    }
+}
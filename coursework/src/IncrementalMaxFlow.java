@@ -0,0 +1,225 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: IncrementalMaxFlow API, keeps the max flow of a
+                FlowNetwork up to date while its edges change
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+/**
+ * IncrementalMaxFlow API, a solver session that keeps the current flow of a FlowNetwork between changes to it
+ * instead of solving again from zero flow every time an edge is added, deleted or given a new capacity
+ * Adding an edge or raising a capacity can only make the max flow larger, so the session simply carries on augmenting
+ * from the flow it already has
+ * Deleting an edge or lowering a capacity below the flow the edge carries leaves its from vertex with too much flow
+ * coming in and its to vertex with too little, the session repairs this in three steps:
+ *      first the extra flow is rerouted from the from vertex to the to vertex around the edge,
+ *      whatever cannot be rerouted is pushed from the from vertex back to the source,
+ *      and the same amount is pulled from the sink back to the to vertex
+ * Each step augments along shortest paths that start at the edge, so small changes only touch the part of the
+ * network near the edge. A final search from the source either finds paths the change opened up or confirms the
+ * flow is still maximum
+ * All changes must go through the session, changing the network directly would leave the flow out of date
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class IncrementalMaxFlow {
+    private final FlowNetwork FLOW_NETWORK;     // network whose flow is kept
+    private final int SOURCE;                   // networks source
+    private final int TARGET;                   // networks target
+    private final FlowEdge[] EDGE_TO;           // will hold the path, on how we reach each vertex
+    private final AugmentingPathSearch SEARCH;  // reused for every augmenting path, so that no search allocates
+    private int flowValue;                      // value of the max flow
+    private int augmentingPaths;                // number of augmenting paths over the whole session
+
+    /**
+     * Initialize the session and compute the max flow of the passed flowNetwork
+     * @param flowNetwork - the FlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1, when source and target are
+     * same, or if the network already carries flow
+     */
+    public IncrementalMaxFlow(FlowNetwork flowNetwork, int source, int target) {
+        this.FLOW_NETWORK = flowNetwork;
+        int vertices = flowNetwork.getNumberOfVertices();
+
+        // check to see whether source and target are valid vertices
+        validVertex(source, vertices);
+        validVertex(target, vertices);
+
+        // same source and target no flow
+        if (source == target) {
+            throw new IllegalArgumentException("[ERROR] --> Source and target are the same");
+        }
+
+        // the flow value is counted by the session, so it has to start from zero flow
+        for (int v = 0; v < vertices; v++) {
+            for (FlowEdge edge : flowNetwork.getAdjacent(v)) {
+                if (edge.getFlow() != 0) {
+                    throw new IllegalArgumentException("[ERROR] --> Network must not carry any flow yet");
+                }
+            }
+        }
+
+        this.SOURCE = source;
+        this.TARGET = target;
+        this.EDGE_TO = new FlowEdge[vertices];
+        this.SEARCH = new AugmentingPathSearch(vertices);
+        this.flowValue = augment(SOURCE, TARGET, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Add an edge to the network and bring the max flow up to date
+     * @param edge - edge to be added, it must not carry any flow
+     * @throws IllegalArgumentException if vertex is out of bounds of 0 and V-1 or the edge carries flow
+     */
+    public void addEdge(FlowEdge edge) {
+        if (edge.getFlow() != 0) {
+            throw new IllegalArgumentException("[ERROR] --> A new edge must not carry any flow");
+        }
+        FLOW_NETWORK.addEdge(edge);
+        flowValue += augment(SOURCE, TARGET, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Delete an edge from the network and bring the max flow up to date
+     * @param edge - edge to delete
+     * @throws IllegalArgumentException if the edge is not part of the network
+     */
+    public void deleteEdge(FlowEdge edge) {
+        validEdge(edge);
+        // the edge is removed first, so that none of the repair paths can use it
+        int removed = edge.getFlow();
+        FLOW_NETWORK.deleteEdge(edge);
+        edge.addResidualFlow(edge.from(), removed);
+        repair(edge.from(), edge.to(), removed);
+    }
+
+    /**
+     * Change the capacity of an edge of the network and bring the max flow up to date
+     * @param edge - edge to change
+     * @param capacity - its new capacity
+     * @throws IllegalArgumentException if the edge is not part of the network or capacity is negative
+     */
+    public void setCapacity(FlowEdge edge, int capacity) {
+        validEdge(edge);
+        if (capacity < 0) {
+            throw new IllegalArgumentException("[ERROR] --> capacity must be a non-negative integer");
+        }
+
+        if (capacity >= edge.getFlow()) {
+            edge.setCapacity(capacity);
+            flowValue += augment(SOURCE, TARGET, Integer.MAX_VALUE);
+            return;
+        }
+
+        // the edge keeps as much flow as it can, and is full afterwards so the repair paths cannot use it forwards
+        int removed = edge.getFlow() - capacity;
+        edge.addResidualFlow(edge.from(), removed);
+        edge.setCapacity(capacity);
+        repair(edge.from(), edge.to(), removed);
+    }
+
+    /**
+     * Restore a valid flow after an edge from vertexFrom to vertexTo lost some of its flow
+     * vertexFrom is left with excess more flow coming in than going out, vertexTo with excess more going out
+     * @param vertexFrom - from vertex of the edge
+     * @param vertexTo - to vertex of the edge
+     * @param excess - flow the edge no longer carries
+     * @throws IllegalStateException if the excess cannot be sent back, which a valid flow never allows
+     */
+    private void repair(int vertexFrom, int vertexTo, int excess) {
+        if (excess > 0) {
+            // as much as possible goes around the edge, then the flow value does not change at all
+            int rest = excess - augment(vertexFrom, vertexTo, excess);
+
+            // the rest was on paths from the source to the sink through the edge, undo those paths on both sides
+            if (rest > 0) {
+                if (vertexFrom != SOURCE && augment(vertexFrom, SOURCE, rest) != rest) {
+                    throw new IllegalStateException("[ERROR] --> Flow could not be returned to the source");
+                }
+                if (vertexTo != TARGET && augment(TARGET, vertexTo, rest) != rest) {
+                    throw new IllegalStateException("[ERROR] --> Flow could not be returned from the sink");
+                }
+                flowValue -= rest;
+            }
+        }
+
+        // undoing paths can leave room for new ones elsewhere
+        flowValue += augment(SOURCE, TARGET, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Push flow from one vertex to another along shortest augmenting paths, until limit is reached or there are
+     * no paths left
+     * @param from - vertex the flow starts at
+     * @param to - vertex the flow ends at
+     * @param limit - most flow to push
+     * @return the flow pushed
+     */
+    private int augment(int from, int to, int limit) {
+        int pushed = 0;
+        while (pushed < limit && SEARCH.search(FLOW_NETWORK, from, to, EDGE_TO)) {
+            // the bottleneck of the path, but never more than is still wanted
+            int bottleneckCapacity = limit - pushed;
+            for (int v = to; v != from; v = EDGE_TO[v].otherEnd(v)) {
+                bottleneckCapacity = Math.min(bottleneckCapacity, EDGE_TO[v].residualCapacity(v));
+            }
+            for (int v = to; v != from; v = EDGE_TO[v].otherEnd(v)) {
+                EDGE_TO[v].addResidualFlow(v, bottleneckCapacity);
+            }
+            pushed += bottleneckCapacity;
+            augmentingPaths++;
+        }
+        return pushed;
+    }
+
+    /**
+     * @return graphs max flow, as of the last change
+     */
+    public int getFlowValue() {
+        return flowValue;
+    }
+
+    /**
+     * @return number of augmenting paths over the whole session, repair paths included
+     */
+    public int getAugmentingPaths() {
+        return augmentingPaths;
+    }
+
+    /**
+     * @return the network whose flow is kept
+     */
+    public FlowNetwork getFlowNetwork() {
+        return FLOW_NETWORK;
+    }
+
+    /**
+     * edge validation
+     * @param edge - which edge to validate
+     * @throws IllegalArgumentException if the edge is not in the network
+     */
+    private void validEdge(FlowEdge edge) {
+        if (!FLOW_NETWORK.getAdjacent(edge.from()).contains(edge)) {
+            throw new IllegalArgumentException("[ERROR] --> Edge " + edge.from() + "->" + edge.to()
+                    + " is not part of the network");
+        }
+    }
+
+    /**
+     * vertex validation
+     * @param vertex - which vertex to validate
+     * @param vertices - number of vertices of the network
+     * @throws IllegalArgumentException if vertex is out of bounds of 0 and V
+     * starts from 0, therefore will go till total-1
+     */
+    private static void validVertex(int vertex, int vertices) {
+        if (vertex < 0 || vertex >= vertices) {
+            throw new IllegalArgumentException("[ERROR] --> Illegal vertex choice: It must be less than " + vertices +
+                    " and greater than 0");
+        }
+    }
+}
@@ -6,13 +6,20 @@
  * Copyright © 2021 Ammar Raneez. All Rights Reserved.
  *******************************************************************/
 
+import java.io.BufferedReader;
 import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Main class, will be the main Client runner
- * Creates a file parser from the specified text file and uses the parser to supply needed values to
+ * Streams the specified text file into a FlowNetwork and uses it to supply needed values to
  * EdmondsCarp
- * Will use EdmondsCarp to provide the max flow
+ * Will use EdmondsCarp, or CapacityScaling when asked for, to provide the max flow
  * Will also time the algorithm
  * @version 1.x March 6th 2021
  * @author Ammar Raneez | 2019163 | W1761196
@@ -21,51 +28,398 @@ public class Main {
 
     /**
      * Main method that will run the program
-     * takes a file, makes the FileParser, creates a FlowNetwork with the parser
+     * takes a file, streams it into a FlowNetwork
      * and calculates the max flow from EdmondsCarp
+     * @param args - the network file to solve, text or binary, testFiles/example.txt when not given
+     *             - "--trace" prints every step of EdmondsCarp, "--trace=file" writes them to a file instead
+     *             - "--convert=file" writes the network file to the binary format instead of solving it
+     *             - "--solver=scaling" solves with CapacityScaling instead of EdmondsCarp ("--solver=edmondscarp"),
+     *               "--solver=mincost" with MinCostFlow, using the costs of a text file's fourth column, and also
+     *               prints the min cost
+     *             - "--batch=directory" or "--batch=glob" solves every matching file concurrently, see runBatch
+     *             - "--reduce" shrinks the network with the NetworkReducer first, the flow is mapped back afterwards
+     *             - "--cache=directory" looks the result up in a ResultCache first and stores it there after solving,
+     *               "--cache-mb=N" bounds its size (256 when not given), "--trust-mtime" skips hashing files whose
+     *               size and modification time have not changed
+     *             - "--serve=port" runs a SolverDaemon on the local port instead of solving a file, "--memory=MB"
+     *               bounds the networks it keeps in memory (3/4 of the heap when not given)
+     *             - "--deadline=ms" solves with AnytimeMaxFlow, which stops after ms milliseconds and then prints
+     *               the bounds the max flow lies between, an unfinished result is not cached
      */
     public static void main(String[] args) {
-        FileParser parser;
+        String file = inputFile(args);
+        String convertTo = option(args, "--convert=");
+        String solver = option(args, "--solver=");
+        if (solver == null) {
+            solver = "edmondscarp";
+        }
+        if (!solver.equals("edmondscarp") && !solver.equals("scaling") && !solver.equals("mincost")) {
+            System.out.println("[ERROR] --> Unknown solver " + solver + ", expected edmondscarp, scaling or mincost");
+            return;
+        }
+        // these only know about capacities, the reducer would merge edges of different costs
+        if (solver.equals("mincost") && (option(args, "--batch=") != null || option(args, "--cache=") != null
+                || option(args, "--deadline=") != null || hasFlag(args, "--reduce"))) {
+            System.out.println("[ERROR] --> --solver=mincost cannot be combined with --batch, --cache, --deadline or "
+                    + "--reduce");
+            return;
+        }
+        long timeoutNanos = Long.MAX_VALUE;
+        String deadline = option(args, "--deadline=");
+        if (deadline != null) {
+            long deadlineMillis;
+            try {
+                deadlineMillis = Long.parseLong(deadline);
+            } catch (NumberFormatException e) {
+                System.out.println("[ERROR] --> --deadline must be an integer");
+                return;
+            }
+            // larger deadlines would overflow once turned into nanoseconds
+            if (deadlineMillis < 1 || deadlineMillis > Long.MAX_VALUE / 1_000_000L) {
+                System.out.println("[ERROR] --> --deadline must be between 1 and " + Long.MAX_VALUE / 1_000_000L
+                        + " ms");
+                return;
+            }
+            timeoutNanos = deadlineMillis * 1_000_000L;
+        }
+
+        String batch = option(args, "--batch=");
+        if (batch != null) {
+            runBatch(args, batch, solver);
+            return;
+        }
+
+        String port = option(args, "--serve=");
+        if (port != null) {
+            runDaemon(args, port);
+            return;
+        }
+
+        // a text file only needs converting once, after that it loads without parsing
+        if (convertTo != null) {
+            try {
+                BinaryGraphFile.convert(file, convertTo);
+            } catch (FileNotFoundException fe) {
+                System.out.println("[ERROR] --> File could not be found!");
+                return;
+            } catch (Exception e) {
+                e.printStackTrace();
+                System.out.println("[ERROR] --> stopping program...");
+                return;
+            }
+            System.out.println("Converted " + file + " to " + convertTo);
+            return;
+        }
+
+        // a repeated file is answered from the cache without loading the network at all
+        ResultCache cache = null;
+        String cacheDirectory = option(args, "--cache=");
+        if (cacheDirectory != null) {
+            double startTime = System.currentTimeMillis() / 1000.0;
+            try {
+                String cacheMb = option(args, "--cache-mb=");
+                cache = new ResultCache(cacheDirectory, (cacheMb == null ? 256L : Long.parseLong(cacheMb)) << 20,
+                        hasFlag(args, "--trust-mtime"));
+                int[] endpoints = endpoints(file);
+                ResultCache.Entry entry = cache.lookup(file, endpoints[0], endpoints[1]);
+                if (entry != null) {
+                    double endTime = System.currentTimeMillis() / 1000.0;
+                    System.out.println("Max Flow determined: " + entry.getFlowValue() + " (cached)");
+                    System.out.println("Time Taken: " + (endTime - startTime));
+                    return;
+                }
+            } catch (FileNotFoundException fe) {
+                System.out.println("[ERROR] --> File could not be found!");
+                return;
+            } catch (NumberFormatException e) {
+                System.out.println("[ERROR] --> --cache-mb must be an integer");
+                return;
+            } catch (Exception e) {
+                // solving still works without the cache
+                System.out.println("[ERROR] --> Cache could not be used, solving without it");
+                cache = null;
+            }
+        }
+
+        // the network is built while the file is read, so the edges are never held twice
+        // binary or text is worked out from the file itself
+        // create only flow networks with valid edge and vertex totals (must be non negative)
+        FlowNetwork flowNetwork;
+        int source;
+        int sink;
         try {
-            parser = new FileParser("testFiles/example.txt");
+            flowNetwork = FlowNetwork.fromFile(file);
+
+            // as in the FileParser format, the source is always 0 and the sink is the last vertex
+            // unless a binary file says otherwise
+            source = 0;
+            sink = flowNetwork.getNumberOfVertices() - 1;
+            if (BinaryGraphFile.isBinary(file)) {
+                BinaryGraphFile header = new BinaryGraphFile(file);
+                source = header.getSource();
+                sink = header.getSink();
+            }
         } catch (FileNotFoundException fe) {
             // file was not there
             System.out.println("[ERROR] --> File could not be found!");
             return;
         } catch (Exception e) {
-            // problem with the file format
+            // problem with the file format, or an edge that is not valid for the network
             e.printStackTrace();
             System.out.println("[ERROR] --> stopping program...");
             return;
         }
 
-        System.out.println(parser.getEdgesTotal());
+        System.out.println(flowNetwork.getNumberOfEdges());
 
-        // create only flow networks with valid edge and vertex totals (must be non negative)
-        FlowNetwork flowNetwork;
+        // Performance Analysis
+        double startTime = System.currentTimeMillis() / 1000.0;
+
+        // tracing is off unless asked for, so that the solver itself does no I/O
+        SolveListener listener;
         try {
-            flowNetwork = new FlowNetwork(parser);
+            listener = createListener(args);
+        } catch (IOException e) {
+            System.out.println("[ERROR] --> Trace file could not be opened!");
+            return;
+        }
+
+        // only proper flow networks would work
+        int maxFlow;
+        AnytimeMaxFlow anytime = null;
+        MinCostFlow minCost = null;
+        try {
+            // the reduced network is solved in place of the full one, the trace then shows its edges
+            NetworkReducer reducer = null;
+            FlowNetwork solved = flowNetwork;
+            int solvedSource = source;
+            int solvedSink = sink;
+            if (hasFlag(args, "--reduce")) {
+                reducer = new NetworkReducer(flowNetwork, source, sink);
+                System.out.println(reducer.getSummary());
+                solved = reducer.getReducedNetwork();
+                solvedSource = reducer.getSource();
+                solvedSink = reducer.getTarget();
+            }
+
+            if (deadline != null) {
+                anytime = new AnytimeMaxFlow(solved, solvedSource, solvedSink, timeoutNanos, new AtomicBoolean(),
+                        listener);
+                maxFlow = anytime.getFlowValue();
+            } else if (solver.equals("mincost")) {
+                minCost = new MinCostFlow(solved, solvedSource, solvedSink, Integer.MAX_VALUE, listener);
+                maxFlow = minCost.getFlowValue();
+            } else if (solver.equals("scaling")) {
+                maxFlow = new CapacityScaling(solved, solvedSource, solvedSink, listener).getFlowValue();
+            } else {
+                maxFlow = new EdmondsCarp(solved, solvedSource, solvedSink, listener).getFlowValue();
+            }
+
+            if (reducer != null) {
+                reducer.mapFlowBack();
+            }
         } catch (Exception e) {
             e.printStackTrace();
             System.out.println("[ERROR] --> stopping program...");
             return;
+        } finally {
+            closeListener(listener);
         }
 
-        // Performance Analysis
-        double startTime = System.currentTimeMillis() / 1000.0;
+        double endTime = System.currentTimeMillis() / 1000.0;
+        if (anytime != null && !anytime.isComplete()) {
+            System.out.println("Max Flow between " + anytime.getLowerBound() + " and " + anytime.getUpperBound()
+                    + " (stopped at the deadline)");
+            System.out.println("Time Taken: " + (endTime - startTime));
+            return;
+        }
+        System.out.println("Max Flow determined: " + maxFlow);
+        if (minCost != null) {
+            System.out.println("Min Cost: " + minCost.getCost());
+        }
+        System.out.println("Time Taken: " + (endTime - startTime));
 
-        // only proper flow networks would work
-        EdmondsCarp edmondsCarp;
+        if (cache != null) {
+            // the min cut source side is what the last, failed, search from the source still reaches
+            AugmentingPathSearch search = new AugmentingPathSearch(flowNetwork.getNumberOfVertices());
+            search.search(flowNetwork, source, sink, new FlowEdge[flowNetwork.getNumberOfVertices()]);
+            boolean[] sourceSide = new boolean[flowNetwork.getNumberOfVertices()];
+            for (int v = 0; v < sourceSide.length; v++) {
+                sourceSide[v] = search.isVisited(v);
+            }
+            try {
+                cache.store(file, source, sink, maxFlow, sourceSide, ResultCache.edgeFlows(flowNetwork));
+            } catch (IOException e) {
+                System.out.println("[ERROR] --> Result could not be cached!");
+            }
+        }
+    }
+
+    /**
+     * Source and sink a file is solved with, without loading its network
+     * @param file - the network file, binary or text
+     * @return {source, sink}, from the header of a binary file, 0 and the last vertex for a text file
+     * @throws Exception - thrown if specified file cannot be found or does not start with a vertex total
+     */
+    private static int[] endpoints(String file) throws Exception {
+        if (BinaryGraphFile.isBinary(file)) {
+            BinaryGraphFile header = new BinaryGraphFile(file);
+            return new int[] {header.getSource(), header.getSink()};
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line = reader.readLine();
+            if (line == null) {
+                throw new IllegalArgumentException("[ERROR] --> Empty network file");
+            }
+            return new int[] {0, Integer.parseInt(line.trim().split("\\s+")[0]) - 1};
+        }
+    }
+
+    /**
+     * Solve many files at once with the BatchSolver and write one result per file
+     * @param args - command line arguments, besides "--batch" and "--solver" these may hold
+     *             - "--out=file" where to write the results, as JSON if it ends in .json and as CSV otherwise,
+     *               CSV on the console when not given
+     *             - "--threads=N" worker threads, the number of cores when not given
+     *             - "--memory=MB" megabytes of networks in memory at once, 3/4 of the heap when not given
+     * @param batch - directory or glob of the files to solve
+     * @param solver - "edmondscarp" or "scaling"
+     */
+    private static void runBatch(String[] args, String batch, String solver) {
+        String out = option(args, "--out=");
+        String threads = option(args, "--threads=");
+        String memory = option(args, "--memory=");
+
+        List<BatchSolver.Result> results;
+        double startTime = System.currentTimeMillis() / 1000.0;
         try {
-            edmondsCarp = new EdmondsCarp(flowNetwork, parser.getSource(), parser.getSink());
+            BatchSolver batchSolver = new BatchSolver(
+                    threads == null ? Runtime.getRuntime().availableProcessors() : Integer.parseInt(threads),
+                    memory == null ? (int) (Runtime.getRuntime().maxMemory() / 4 * 3 >> 20) : Integer.parseInt(memory),
+                    solver);
+            List<String> files = BatchSolver.findFiles(batch);
+            if (files.isEmpty()) {
+                System.out.println("[ERROR] --> No files match " + batch);
+                return;
+            }
+            results = batchSolver.solveAll(files);
+        } catch (NumberFormatException e) {
+            System.out.println("[ERROR] --> --threads and --memory must be integers");
+            return;
         } catch (Exception e) {
             e.printStackTrace();
             System.out.println("[ERROR] --> stopping program...");
             return;
         }
-
         double endTime = System.currentTimeMillis() / 1000.0;
-        System.out.println("Max Flow determined: " + edmondsCarp.getFlowValue());
+
+        if (out == null) {
+            PrintWriter console = new PrintWriter(System.out);
+            BatchSolver.writeCsv(results, console);
+            console.flush();
+        } else {
+            try (PrintWriter writer = new PrintWriter(new FileWriter(out))) {
+                if (out.endsWith(".json")) {
+                    BatchSolver.writeJson(results, writer);
+                } else {
+                    BatchSolver.writeCsv(results, writer);
+                }
+            } catch (IOException e) {
+                System.out.println("[ERROR] --> Results could not be written!");
+                return;
+            }
+            System.out.println("Solved " + results.size() + " files, results in " + out);
+        }
         System.out.println("Time Taken: " + (endTime - startTime));
     }
+
+    /**
+     * Serve requests with a SolverDaemon until it is sent SHUTDOWN
+     * @param args - command line arguments, besides "--serve" these may hold
+     *             - "--memory=MB" megabytes of networks kept in memory, 3/4 of the heap when not given
+     * @param port - local port to listen on, 0 for any free port
+     */
+    private static void runDaemon(String[] args, String port) {
+        String memory = option(args, "--memory=");
+        try (SolverDaemon daemon = new SolverDaemon(Integer.parseInt(port),
+                memory == null ? Runtime.getRuntime().maxMemory() / 4 * 3 : Long.parseLong(memory) << 20)) {
+            System.out.println("Serving on port " + daemon.getPort() + ", send SHUTDOWN to stop");
+            daemon.serve();
+        } catch (NumberFormatException e) {
+            System.out.println("[ERROR] --> --serve and --memory must be integers");
+        } catch (IOException e) {
+            System.out.println("[ERROR] --> Could not listen on port " + port + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param args - command line arguments
+     * @return the first argument that is not an option, or testFiles/example.txt if there is none
+     */
+    private static String inputFile(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                return arg;
+            }
+        }
+        return "testFiles/example.txt";
+    }
+
+    /**
+     * @param args - command line arguments
+     * @param prefix - option to look for, including its "="
+     * @return the value of the option, or null if it was not passed
+     */
+    private static String option(String[] args, String prefix) {
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param args - command line arguments
+     * @param flag - option to look for, one without a value
+     * @return whether it was passed
+     */
+    private static boolean hasFlag(String[] args, String flag) {
+        for (String arg : args) {
+            if (arg.equals(flag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Create the listener asked for on the command line
+     * @param args - command line arguments
+     * @return an AsyncTracer if "--trace" or "--trace=file" was passed, otherwise SolveListener.NONE
+     * @throws IOException if the trace file cannot be opened
+     */
+    private static SolveListener createListener(String[] args) throws IOException {
+        for (String arg : args) {
+            if (arg.equals("--trace")) {
+                return new AsyncTracer();
+            }
+        }
+        String traceFile = option(args, "--trace=");
+        return traceFile == null ? SolveListener.NONE : new AsyncTracer(traceFile);
+    }
+
+    /**
+     * Write out whatever the listener still holds
+     * @param listener - listener to close, nothing happens for SolveListener.NONE
+     */
+    private static void closeListener(SolveListener listener) {
+        if (listener instanceof AsyncTracer) {
+            try {
+                ((AsyncTracer) listener).close();
+            } catch (IOException e) {
+                System.out.println("[ERROR] --> Trace could not be written!");
+            }
+        }
+    }
 }
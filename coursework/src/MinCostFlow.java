@@ -0,0 +1,336 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: MinCostFlow API, will compute the max flow of a
+                FlowNetwork that has the smallest total cost
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * MinCostFlow API, the successive shortest path algorithm: flow is always sent along a cheapest augmenting path of the
+ * residual network, where sending flow back along an edge gives its cost back, so the flow is a cheapest one of its
+ * value at every step and the max flow it ends with is a min cost max flow
+ * Cheapest paths are found by Dijkstra's algorithm over reduced costs, cost + potential[from] - potential[to], which
+ * Johnson's potentials keep non-negative on every residual edge. After each search the potentials are raised by the
+ * distances found, so the edges of the cheapest paths, and the reverse edges augmenting creates, cost nothing
+ * Only when the network has negative costs are the first potentials found by one Bellman-Ford pass, every search after
+ * it is a Dijkstra. Negative cost cycles the source cannot reach are never used, the flow only leaves the source
+ * A search stops once the sink is settled, vertices not settled are raised by the sinks distance, which keeps the
+ * reduced costs non-negative all the same
+ * The priority queue is a binary heap of vertices in int arrays with their distances in a long array, with an index
+ * of each vertex's heap slot so that a shorter distance moves the vertex up instead of adding it again
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class MinCostFlow {
+    private static final long INFINITY = Long.MAX_VALUE / 4;   // distance of a vertex not reached yet, never overflows
+
+    private final int VERTICES;         // Number of vertices
+    private final long[] POTENTIAL;     // Johnson potential of each vertex
+    private final long[] DISTANCE;      // reduced cost distance of each vertex from the source in the current search
+    private final FlowEdge[] EDGE_TO;   // will hold the path, on how we reach each vertex
+    private final int[] HEAP;           // vertices waiting to be settled, a binary heap on DISTANCE
+    private final int[] SLOT;           // index of each vertex in HEAP, -1 when it is not in it
+    private int heapSize;               // number of vertices in HEAP
+    private final int FLOW_LIMIT;       // flow at which the solve stops, Integer.MAX_VALUE for the max flow
+    private int flowValue;              // value of the flow
+    private long cost;                  // total cost of the flow
+    private int augmentingPaths;        // number of augmenting paths
+    private long searches;              // shortest path searches run
+    private long edgesScanned;          // edges looked at by the searches
+    private long verticesSettled;       // vertices taken off the heap by the searches
+
+    /**
+     * Compute a min cost max flow of the passed flowNetwork
+     * @param flowNetwork - the FlowNetwork to perform on, it must not carry any flow yet
+     * @param source - networks source
+     * @param target - networks target
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1, when source and target are
+     * same, if the network already carries flow or has a negative cost cycle reachable from the source
+     */
+    public MinCostFlow(FlowNetwork flowNetwork, int source, int target) {
+        this(flowNetwork, source, target, Integer.MAX_VALUE, SolveListener.NONE);
+    }
+
+    /**
+     * Compute a cheapest flow of value flowLimit, or a min cost max flow if the network cannot carry that much
+     * Every step is reported to the listener, nothing is printed by the solver itself
+     * @param flowNetwork - the FlowNetwork to perform on, it must not carry any flow yet
+     * @param source - networks source
+     * @param target - networks target
+     * @param flowLimit - flow at which to stop, Integer.MAX_VALUE for the max flow
+     * @param listener - where to report each step, SolveListener.NONE to skip reporting entirely
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1, when source and target are
+     * same, if the flow limit is negative, the network already carries flow or has a negative cost cycle reachable
+     * from the source
+     */
+    public MinCostFlow(FlowNetwork flowNetwork, int source, int target, int flowLimit, SolveListener listener) {
+        this.VERTICES = flowNetwork.getNumberOfVertices();
+
+        // check to see whether source and target are valid vertices
+        validVertex(source);
+        validVertex(target);
+
+        // same source and target no flow
+        if (source == target) {
+            throw new IllegalArgumentException("[ERROR] --> Source and target are the same");
+        }
+        if (flowLimit < 0) {
+            throw new IllegalArgumentException("[ERROR] --> Negative flow limit not allowed");
+        }
+        this.FLOW_LIMIT = flowLimit;
+        this.POTENTIAL = new long[VERTICES];
+        this.DISTANCE = new long[VERTICES];
+        this.EDGE_TO = new FlowEdge[VERTICES];
+        this.HEAP = new int[VERTICES];
+        this.SLOT = new int[VERTICES];
+        Arrays.fill(SLOT, -1);
+
+        // the cost is counted from zero flow, and only negative costs need a first pass to make potentials valid
+        boolean negativeCosts = false;
+        for (int v = 0; v < VERTICES; v++) {
+            for (FlowEdge edge : flowNetwork.getAdjacent(v)) {
+                if (edge.getFlow() != 0) {
+                    throw new IllegalArgumentException("[ERROR] --> The network already carries flow");
+                }
+                negativeCosts |= edge.getCost() < 0;
+            }
+        }
+
+        boolean tracing = listener != SolveListener.NONE;
+        if (tracing) {
+            listener.onStart(flowNetwork.getNumberOfEdges(), VERTICES);
+        }
+
+        long startNanos = System.nanoTime();
+        if (negativeCosts) {
+            bellmanFord(flowNetwork, source);
+        }
+
+        while (flowValue < FLOW_LIMIT && dijkstra(flowNetwork, source, target)) {
+            // the bottleneck of the path, but never more than is left of the flow limit
+            int bottleneckCapacity = FLOW_LIMIT - flowValue;
+            for (int v = target; v != source; v = EDGE_TO[v].otherEnd(v)) {
+                bottleneckCapacity = Math.min(bottleneckCapacity, EDGE_TO[v].residualCapacity(v));
+            }
+
+            long pathCost = 0;
+            for (int v = target; v != source; v = EDGE_TO[v].otherEnd(v)) {
+                FlowEdge edge = EDGE_TO[v];
+                int flowBefore = edge.getFlow();
+                pathCost += edge.residualCost(v);
+                edge.addResidualFlow(v, bottleneckCapacity);
+                if (tracing) {
+                    listener.onEdgeAugmented(edge.from(), edge.to(), edge.getCapacity(), flowBefore, edge.getFlow());
+                }
+            }
+
+            int flowBefore = flowValue;
+            flowValue += bottleneckCapacity;
+            cost += pathCost * bottleneckCapacity;
+            augmentingPaths++;
+            if (tracing) {
+                listener.onAugmentingPath(augmentingPaths, bottleneckCapacity, flowBefore, flowValue);
+            }
+        }
+
+        SolverMetrics.get().recordSolve("mincost", VERTICES, flowNetwork.getNumberOfEdges(),
+                System.nanoTime() - startNanos, searches, edgesScanned, verticesSettled, augmentingPaths, flowValue,
+                flowValue);
+
+        if (tracing) {
+            listener.onFinish(flowValue, augmentingPaths);
+        }
+    }
+
+    /**
+     * First potentials for a network with negative costs, the cheapest cost of reaching each vertex from the source
+     * Only edges with capacity are followed, the flow is still zero so these are the residual edges
+     * Vertices the source cannot reach keep potential 0, augmenting never makes them reachable
+     * @param flowNetwork - which flow network
+     * @param source - network source
+     * @throws IllegalArgumentException if a negative cost cycle can be reached from the source
+     */
+    private void bellmanFord(FlowNetwork flowNetwork, int source) {
+        Arrays.fill(DISTANCE, INFINITY);
+        DISTANCE[source] = 0;
+        boolean changed = true;
+        for (int round = 0; round < VERTICES && changed; round++) {
+            changed = false;
+            for (int vertexFrom = 0; vertexFrom < VERTICES; vertexFrom++) {
+                if (DISTANCE[vertexFrom] == INFINITY) {
+                    continue;
+                }
+                ArrayList<FlowEdge> adjacent = flowNetwork.getAdjacent(vertexFrom);
+                for (int i = 0; i < adjacent.size(); i++) {
+                    FlowEdge edge = adjacent.get(i);
+                    int vertexTo = edge.otherEnd(vertexFrom);
+                    if (edge.residualCapacity(vertexTo) > 0
+                            && DISTANCE[vertexFrom] + edge.residualCost(vertexTo) < DISTANCE[vertexTo]) {
+                        DISTANCE[vertexTo] = DISTANCE[vertexFrom] + edge.residualCost(vertexTo);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        // a shortest path has at most V-1 edges, still improving after V rounds means a cycle
+        if (changed) {
+            throw new IllegalArgumentException("[ERROR] --> The network has a negative cost cycle");
+        }
+        for (int v = 0; v < VERTICES; v++) {
+            POTENTIAL[v] = DISTANCE[v] == INFINITY ? 0 : DISTANCE[v];
+        }
+    }
+
+    /**
+     * Find a cheapest augmenting path and raise the potentials by the distances found
+     * @param flowNetwork - which flow network
+     * @param source - network source
+     * @param target - network sink
+     * @return whether there is another path or not
+     */
+    private boolean dijkstra(FlowNetwork flowNetwork, int source, int target) {
+        searches++;
+        Arrays.fill(DISTANCE, INFINITY);
+        DISTANCE[source] = 0;
+        push(source);
+
+        while (heapSize > 0) {
+            int vertexFrom = pop();
+            verticesSettled++;
+            if (vertexFrom == target) {
+                break;
+            }
+            ArrayList<FlowEdge> adjacent = flowNetwork.getAdjacent(vertexFrom);
+            for (int i = 0; i < adjacent.size(); i++) {
+                FlowEdge edge = adjacent.get(i);
+                int vertexTo = edge.otherEnd(vertexFrom);
+                if (edge.residualCapacity(vertexTo) > 0) {
+                    long reducedCost = edge.residualCost(vertexTo) + POTENTIAL[vertexFrom] - POTENTIAL[vertexTo];
+                    long distance = DISTANCE[vertexFrom] + reducedCost;
+                    if (distance < DISTANCE[vertexTo]) {
+                        DISTANCE[vertexTo] = distance;
+                        EDGE_TO[vertexTo] = edge;
+                        push(vertexTo);
+                    }
+                }
+            }
+            edgesScanned += adjacent.size();
+        }
+
+        // vertices left in the heap were not settled, the next search starts with an empty heap
+        for (int i = 0; i < heapSize; i++) {
+            SLOT[HEAP[i]] = -1;
+        }
+        heapSize = 0;
+
+        long targetDistance = DISTANCE[target];
+        if (targetDistance == INFINITY) {
+            return false;
+        }
+        // settled vertices are no further than the sink, every other vertex is raised by the sinks distance
+        for (int v = 0; v < VERTICES; v++) {
+            POTENTIAL[v] += Math.min(DISTANCE[v], targetDistance);
+        }
+        return true;
+    }
+
+    /**
+     * Add a vertex to the heap, or move it up after its distance got shorter
+     * @param vertex - which vertex
+     */
+    private void push(int vertex) {
+        int slot = SLOT[vertex];
+        if (slot == -1) {
+            slot = heapSize++;
+        }
+        // sift up, parents further than the vertex move down a level
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (DISTANCE[HEAP[parent]] <= DISTANCE[vertex]) {
+                break;
+            }
+            place(HEAP[parent], slot);
+            slot = parent;
+        }
+        place(vertex, slot);
+    }
+
+    /**
+     * Take the closest vertex off the heap
+     * @return the vertex
+     */
+    private int pop() {
+        int closest = HEAP[0];
+        SLOT[closest] = -1;
+        int last = HEAP[--heapSize];
+        if (heapSize > 0) {
+            // sift down the last vertex from the root, closer children move up a level
+            int slot = 0;
+            while (true) {
+                int child = 2 * slot + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && DISTANCE[HEAP[child + 1]] < DISTANCE[HEAP[child]]) {
+                    child++;
+                }
+                if (DISTANCE[HEAP[child]] >= DISTANCE[last]) {
+                    break;
+                }
+                place(HEAP[child], slot);
+                slot = child;
+            }
+            place(last, slot);
+        }
+        return closest;
+    }
+
+    /**
+     * Put a vertex in a heap slot
+     * @param vertex - which vertex
+     * @param slot - which slot
+     */
+    private void place(int vertex, int slot) {
+        HEAP[slot] = vertex;
+        SLOT[vertex] = slot;
+    }
+
+    /**
+     * @return graphs max flow, or with a flow limit the smaller of the max flow and the limit
+     */
+    public int getFlowValue() {
+        return flowValue;
+    }
+
+    /**
+     * @return total cost of the flow, the smallest any flow of its value can have
+     */
+    public long getCost() {
+        return cost;
+    }
+
+    /**
+     * @return number of augmenting paths
+     */
+    public int getAugmentingPaths() {
+        return augmentingPaths;
+    }
+
+    /**
+     * vertex validation
+     * @param vertex - which vertex to validate
+     * @throws IllegalArgumentException if vertex is out of bounds of 0 and V
+     * starts from 0, therefore will go till total-1
+     */
+    private void validVertex(int vertex) {
+        if (vertex < 0 || vertex >= VERTICES) {
+            throw new IllegalArgumentException("[ERROR] --> Illegal vertex choice: It must be less than " + VERTICES +
+                    " and greater than 0");
+        }
+    }
+}
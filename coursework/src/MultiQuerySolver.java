@@ -0,0 +1,123 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: MultiQuerySolver API, answers many source and sink
+                max flow queries at once on one loaded network
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MultiQuerySolver API, which solves the max flow of many (source, sink) pairs of the same CompactFlowNetwork
+ * The network is loaded once and never copied or changed: every worker thread solves on its own query network from
+ * CompactFlowNetwork.newQuery, which shares the topology and only has a flow array of its own, and clears those flows
+ * between its queries. So the only per thread memory is one flow array, and no locking is needed
+ * Workers take the next unsolved query as they finish one, so long and short queries even out
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class MultiQuerySolver {
+    private final CompactFlowNetwork FLOW_NETWORK;  // network every query is solved on
+    private final int THREADS;                      // number of worker threads
+
+    /**
+     * @param flowNetwork - the CompactFlowNetwork to answer queries on, its own flows are never touched
+     * @param threads - number of worker threads
+     * @throws IllegalArgumentException if threads is not positive
+     */
+    public MultiQuerySolver(CompactFlowNetwork flowNetwork, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("[ERROR] --> Need at least one thread");
+        }
+        this.FLOW_NETWORK = flowNetwork;
+        this.THREADS = threads;
+    }
+
+    /**
+     * Solve one query, safe to call from several threads at once
+     * @param source - source of the query
+     * @param target - sink of the query
+     * @return its max flow
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1 or when they are the same
+     */
+    public int solve(int source, int target) {
+        return new Dinic(FLOW_NETWORK.newQuery(), source, target).getFlowValue();
+    }
+
+    /**
+     * Solve every query, at most THREADS at a time
+     * @param sources - source of each query
+     * @param targets - sink of each query
+     * @return max flow of each query, in the same order
+     * @throws IllegalArgumentException if the arrays differ in length or a query is not valid
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public int[] solveAll(final int[] sources, final int[] targets) throws InterruptedException {
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException("[ERROR] --> Every query needs a source and a sink");
+        }
+        int vertices = FLOW_NETWORK.getNumberOfVertices();
+        for (int i = 0; i < sources.length; i++) {
+            validVertex(sources[i], vertices);
+            validVertex(targets[i], vertices);
+            if (sources[i] == targets[i]) {
+                throw new IllegalArgumentException("[ERROR] --> Source and target are the same");
+            }
+        }
+
+        final int[] flowValues = new int[sources.length];
+        final AtomicInteger next = new AtomicInteger();
+        int workerTotal = Math.min(THREADS, sources.length);
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, workerTotal));
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < workerTotal; i++) {
+                futures.add(workers.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        CompactFlowNetwork query = FLOW_NETWORK.newQuery();
+                        for (int q = next.getAndIncrement(); q < flowValues.length; q = next.getAndIncrement()) {
+                            query.resetFlows();
+                            flowValues[q] = new Dinic(query, sources[q], targets[q]).getFlowValue();
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("[ERROR] --> query worker failed", e.getCause());
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        // Future.get orders every worker's writes before this return
+        return flowValues;
+    }
+
+    /**
+     * vertex validation
+     * @param vertex - which vertex to validate
+     * @param vertices - number of vertices of the network
+     * @throws IllegalArgumentException if vertex is out of bounds of 0 and V
+     * starts from 0, therefore will go till total-1
+     */
+    private static void validVertex(int vertex, int vertices) {
+        if (vertex < 0 || vertex >= vertices) {
+            throw new IllegalArgumentException("[ERROR] --> Illegal vertex choice: It must be less than " + vertices +
+                    " and greater than 0");
+        }
+    }
+}
@@ -0,0 +1,428 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: NetworkReducer API, shrinks a FlowNetwork before it
+                is solved and maps the flow found back onto it
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * NetworkReducer API, a preprocessing stage that builds a smaller FlowNetwork with the same max flow
+ * Three reductions are applied:
+ *      vertices the source cannot reach, or that cannot reach the target, are dropped with their edges,
+ *      parallel edges u->w are merged into one edge with the sum of their capacities,
+ *      a vertex with exactly one edge in (u->v) and one edge out (v->w) is contracted, the two edges become one
+ *      edge u->w with the smaller of their capacities
+ * Merging and contracting feed each other, a contraction can create a parallel edge and a merge can leave a vertex
+ * with one edge in and one out, so both are repeated until neither applies. A contraction that closes a loop (u == w)
+ * drops the loop, it can never carry flow towards the target, and a vertex left with no edge in or out is dropped too
+ * Every edge of the reduced network remembers the original edges it stands for, as a tree of parallel and series
+ * groups, so a flow on the reduced network can be mapped back: a series group gives its whole flow to every member, a
+ * parallel group fills its members one after the other
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class NetworkReducer {
+    private final FlowNetwork ORIGINAL;             // network that was reduced
+    private final FlowNetwork REDUCED;              // the smaller network
+    private final List<Group> REDUCED_GROUPS;       // what each edge of REDUCED stands for, in the order they were added
+    private final List<FlowEdge> REDUCED_EDGES;     // the edges of REDUCED, in the same order
+    private final int REDUCED_SOURCE;               // source of REDUCED
+    private final int REDUCED_TARGET;               // target of REDUCED
+    private int prunedVertices;                     // vertices dropped for being off every source to target path
+    private int mergedEdges;                        // edges removed by merging parallel edges
+    private int contractedVertices;                 // vertices removed by chain contraction
+
+    /**
+     * Original edges one edge of the working graph stands for
+     * A leaf wraps an original edge, a series group carries the same flow on all members, a parallel group splits it
+     */
+    private static class Group {
+        private static final int LEAF = 0;
+        private static final int SERIES = 1;
+        private static final int PARALLEL = 2;
+
+        private final int kind;
+        private final FlowEdge edge;                // the original edge, only for a leaf
+        private final Group first;                  // members, only for a series or parallel group
+        private final Group second;
+        private final int capacity;                 // most flow the group can carry
+        private int from;                           // current ends in the working graph
+        private int to;
+        private boolean alive = true;               // false once merged, contracted or dropped
+
+        Group(FlowEdge edge) {
+            this.kind = LEAF;
+            this.edge = edge;
+            this.first = null;
+            this.second = null;
+            this.capacity = edge.getCapacity();
+            this.from = edge.from();
+            this.to = edge.to();
+        }
+
+        Group(int kind, Group first, Group second, int from, int to) {
+            this.kind = kind;
+            this.edge = null;
+            this.first = first;
+            this.second = second;
+            // a sum larger than any int can never be used up, the max flow is an int
+            this.capacity = kind == SERIES ? Math.min(first.capacity, second.capacity)
+                    : (int) Math.min(Integer.MAX_VALUE, (long) first.capacity + second.capacity);
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /**
+     * Reduce the passed flowNetwork, the network itself is not changed
+     * @param flowNetwork - the FlowNetwork to reduce
+     * @param source - networks source
+     * @param target - networks target
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1 or when source and target
+     * are same
+     */
+    public NetworkReducer(FlowNetwork flowNetwork, int source, int target) {
+        int vertices = flowNetwork.getNumberOfVertices();
+        validVertex(source, vertices);
+        validVertex(target, vertices);
+        if (source == target) {
+            throw new IllegalArgumentException("[ERROR] --> Source and target are the same");
+        }
+        this.ORIGINAL = flowNetwork;
+
+        // working graph, lists are cleaned of dead groups lazily and the counts are kept exact
+        boolean[] kept = prune(flowNetwork, source, target);
+        List<List<Group>> out = new ArrayList<>();
+        List<List<Group>> in = new ArrayList<>();
+        int[] outCount = new int[vertices];
+        int[] inCount = new int[vertices];
+        for (int v = 0; v < vertices; v++) {
+            out.add(new ArrayList<Group>());
+            in.add(new ArrayList<Group>());
+            if (!kept[v]) {
+                prunedVertices++;
+            }
+        }
+        for (int v = 0; v < vertices; v++) {
+            for (FlowEdge edge : flowNetwork.getAdjacent(v)) {
+                if (edge.from() == v && kept[edge.from()] && kept[edge.to()] && edge.from() != edge.to()
+                        && edge.getCapacity() > 0) {
+                    Group group = new Group(edge);
+                    out.get(group.from).add(group);
+                    in.get(group.to).add(group);
+                    outCount[group.from]++;
+                    inCount[group.to]++;
+                }
+            }
+        }
+
+        // merge parallel edges once up front, afterwards only new edges can have a parallel partner
+        for (int v = 0; v < vertices; v++) {
+            Map<Integer, Group> byTarget = new HashMap<>();
+            for (Group group : new ArrayList<>(out.get(v))) {
+                Group partner = byTarget.get(group.to);
+                if (partner == null) {
+                    byTarget.put(group.to, group);
+                } else {
+                    byTarget.put(group.to, merge(partner, group, out, in, outCount, inCount));
+                }
+            }
+        }
+
+        // contract chains until nothing changes, every vertex whose degree changed is looked at again
+        ArrayDeque<Integer> work = new ArrayDeque<>();
+        boolean[] queued = new boolean[vertices];
+        for (int v = 0; v < vertices; v++) {
+            work.add(v);
+            queued[v] = true;
+        }
+        while (!work.isEmpty()) {
+            int v = work.poll();
+            queued[v] = false;
+            if (v == source || v == target || !kept[v]) {
+                continue;
+            }
+            if (inCount[v] == 0 || outCount[v] == 0) {
+                // off every path now, its edges carry no flow
+                for (Group group : alive(out.get(v))) {
+                    remove(group, outCount, inCount);
+                    enqueue(group.to, work, queued);
+                }
+                for (Group group : alive(in.get(v))) {
+                    remove(group, outCount, inCount);
+                    enqueue(group.from, work, queued);
+                }
+                kept[v] = false;
+                prunedVertices++;
+            } else if (inCount[v] == 1 && outCount[v] == 1) {
+                Group incoming = alive(in.get(v)).get(0);
+                Group outgoing = alive(out.get(v)).get(0);
+                remove(incoming, outCount, inCount);
+                remove(outgoing, outCount, inCount);
+                kept[v] = false;
+                contractedVertices++;
+
+                int from = incoming.from;
+                int to = outgoing.to;
+                if (from != to) {
+                    Group series = new Group(Group.SERIES, incoming, outgoing, from, to);
+                    add(series, out, in, outCount, inCount);
+                    Group partner = findParallel(series, out, in);
+                    if (partner != null) {
+                        merge(partner, series, out, in, outCount, inCount);
+                    }
+                }
+                enqueue(from, work, queued);
+                enqueue(to, work, queued);
+            }
+        }
+
+        // renumber what is left, keeping the original order of the vertices
+        int[] renumber = new int[vertices];
+        int reducedVertices = 0;
+        for (int v = 0; v < vertices; v++) {
+            renumber[v] = kept[v] || v == source || v == target ? reducedVertices++ : -1;
+        }
+        this.REDUCED = new FlowNetwork(reducedVertices);
+        this.REDUCED_GROUPS = new ArrayList<>();
+        this.REDUCED_EDGES = new ArrayList<>();
+        for (int v = 0; v < vertices; v++) {
+            for (Group group : alive(out.get(v))) {
+                FlowEdge edge = new FlowEdge(renumber[group.from], renumber[group.to], group.capacity);
+                REDUCED.addEdge(edge);
+                REDUCED_GROUPS.add(group);
+                REDUCED_EDGES.add(edge);
+            }
+        }
+        this.REDUCED_SOURCE = renumber[source];
+        this.REDUCED_TARGET = renumber[target];
+    }
+
+    /**
+     * Find the vertices on some path from the source to the target, through edges of positive capacity
+     * @param flowNetwork - which flow network
+     * @param source - networks source
+     * @param target - networks target
+     * @return whether each vertex is reachable from the source and can reach the target
+     */
+    private static boolean[] prune(FlowNetwork flowNetwork, int source, int target) {
+        boolean[] fromSource = reach(flowNetwork, source, true);
+        boolean[] toTarget = reach(flowNetwork, target, false);
+        boolean[] kept = new boolean[flowNetwork.getNumberOfVertices()];
+        for (int v = 0; v < kept.length; v++) {
+            kept[v] = fromSource[v] && toTarget[v];
+        }
+        // with no path at all both ends are still kept, so the reduced network has a source and a target
+        kept[source] = true;
+        kept[target] = true;
+        return kept;
+    }
+
+    /**
+     * Breadth First Search along edges of positive capacity
+     * @param flowNetwork - which flow network
+     * @param start - vertex to start from
+     * @param forwards - follow edges from their from vertex, or backwards from their to vertex
+     * @return whether each vertex was reached
+     */
+    private static boolean[] reach(FlowNetwork flowNetwork, int start, boolean forwards) {
+        boolean[] marked = new boolean[flowNetwork.getNumberOfVertices()];
+        int[] queue = new int[marked.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        marked[start] = true;
+        while (head < tail) {
+            int vertex = queue[head++];
+            for (FlowEdge edge : flowNetwork.getAdjacent(vertex)) {
+                int near = forwards ? edge.from() : edge.to();
+                int far = forwards ? edge.to() : edge.from();
+                if (near == vertex && !marked[far] && edge.getCapacity() > 0) {
+                    marked[far] = true;
+                    queue[tail++] = far;
+                }
+            }
+        }
+        return marked;
+    }
+
+    /**
+     * Replace two parallel groups by one
+     * @return the merged group
+     */
+    private Group merge(Group a, Group b, List<List<Group>> out, List<List<Group>> in, int[] outCount,
+                        int[] inCount) {
+        remove(a, outCount, inCount);
+        remove(b, outCount, inCount);
+        Group parallel = new Group(Group.PARALLEL, a, b, a.from, a.to);
+        add(parallel, out, in, outCount, inCount);
+        mergedEdges++;
+        return parallel;
+    }
+
+    /**
+     * @return another live group with the same ends, looked for in the shorter of the two lists
+     */
+    private static Group findParallel(Group group, List<List<Group>> out, List<List<Group>> in) {
+        List<Group> outList = out.get(group.from);
+        List<Group> inList = in.get(group.to);
+        for (Group other : outList.size() <= inList.size() ? outList : inList) {
+            if (other != group && other.alive && other.from == group.from && other.to == group.to) {
+                return other;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Add a group to the working graph
+     */
+    private static void add(Group group, List<List<Group>> out, List<List<Group>> in, int[] outCount,
+                            int[] inCount) {
+        out.get(group.from).add(group);
+        in.get(group.to).add(group);
+        outCount[group.from]++;
+        inCount[group.to]++;
+    }
+
+    /**
+     * Take a group out of the working graph, it stays in the lists until they are next cleaned
+     */
+    private static void remove(Group group, int[] outCount, int[] inCount) {
+        group.alive = false;
+        outCount[group.from]--;
+        inCount[group.to]--;
+    }
+
+    /**
+     * Drop the dead groups of a list
+     * @param groups - a list of the working graph
+     * @return the same list, holding only live groups
+     */
+    private static List<Group> alive(List<Group> groups) {
+        int live = 0;
+        for (int i = 0; i < groups.size(); i++) {
+            if (groups.get(i).alive) {
+                groups.set(live++, groups.get(i));
+            }
+        }
+        groups.subList(live, groups.size()).clear();
+        return new ArrayList<>(groups);
+    }
+
+    /**
+     * Put a vertex on the work list unless it is already there
+     */
+    private static void enqueue(int vertex, ArrayDeque<Integer> work, boolean[] queued) {
+        if (!queued[vertex]) {
+            queued[vertex] = true;
+            work.add(vertex);
+        }
+    }
+
+    /**
+     * Give the original edges the flow the reduced network holds, the original network must not carry any flow yet
+     * Call once, after solving the reduced network
+     * @throws IllegalArgumentException if an original edge already carries flow
+     */
+    public void mapFlowBack() {
+        for (int i = 0; i < REDUCED_EDGES.size(); i++) {
+            assign(REDUCED_GROUPS.get(i), REDUCED_EDGES.get(i).getFlow());
+        }
+    }
+
+    /**
+     * Spread a flow over the original edges of a group
+     * @param group - which group
+     * @param flow - flow the group carries, at most its capacity
+     */
+    private static void assign(Group group, int flow) {
+        if (flow == 0) {
+            return;
+        }
+        if (group.kind == Group.LEAF) {
+            group.edge.addResidualFlow(group.edge.to(), flow);
+        } else if (group.kind == Group.SERIES) {
+            assign(group.first, flow);
+            assign(group.second, flow);
+        } else {
+            int firstShare = Math.min(flow, group.first.capacity);
+            assign(group.first, firstShare);
+            assign(group.second, flow - firstShare);
+        }
+    }
+
+    /**
+     * @return the reduced network, solve it from getSource to getTarget
+     */
+    public FlowNetwork getReducedNetwork() {
+        return REDUCED;
+    }
+
+    /**
+     * @return source of the reduced network
+     */
+    public int getSource() {
+        return REDUCED_SOURCE;
+    }
+
+    /**
+     * @return target of the reduced network
+     */
+    public int getTarget() {
+        return REDUCED_TARGET;
+    }
+
+    /**
+     * @return number of vertices dropped for being off every source to target path
+     */
+    public int getPrunedVertices() {
+        return prunedVertices;
+    }
+
+    /**
+     * @return number of edges removed by merging parallel edges
+     */
+    public int getMergedEdges() {
+        return mergedEdges;
+    }
+
+    /**
+     * @return number of vertices removed by chain contraction
+     */
+    public int getContractedVertices() {
+        return contractedVertices;
+    }
+
+    /**
+     * @return how much the network shrank, as one line
+     */
+    public String getSummary() {
+        return "Reduced " + ORIGINAL.getNumberOfVertices() + " vertices and " + ORIGINAL.getNumberOfEdges()
+                + " edges to " + REDUCED.getNumberOfVertices() + " vertices and " + REDUCED.getNumberOfEdges()
+                + " edges (pruned " + prunedVertices + " vertices, merged " + mergedEdges + " edges, contracted "
+                + contractedVertices + " vertices)";
+    }
+
+    /**
+     * vertex validation
+     * @param vertex - which vertex to validate
+     * @param vertices - number of vertices of the network
+     * @throws IllegalArgumentException if vertex is out of bounds of 0 and V
+     * starts from 0, therefore will go till total-1
+     */
+    private static void validVertex(int vertex, int vertices) {
+        if (vertex < 0 || vertex >= vertices) {
+            throw new IllegalArgumentException("[ERROR] --> Illegal vertex choice: It must be less than " + vertices +
+                    " and greater than 0");
+        }
+    }
+}
@@ -0,0 +1,317 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: ParallelAugmentingPathSearch API, a level by level
+                Breadth First Search spread over a ForkJoinPool
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ParallelAugmentingPathSearch API, a drop in replacement for AugmentingPathSearch on networks with millions of vertices
+ * The search is level synchronous: all vertices of the current frontier (one BFS level) are expanded in parallel,
+ * split into ranges that ForkJoin tasks work through, and the vertices they discover make up the next frontier
+ * A vertex is claimed by compare and set on its visited stamp, so exactly one thread wins it and only that thread
+ * writes its edgeTo parent and level. Each vertex is still claimed at most once per search, the paths found are
+ * shortest paths just like the serial search
+ * Once the target is claimed every task stops, the path to it is already complete
+ * Small networks are searched by the serial AugmentingPathSearch, and frontiers too small to be worth splitting are
+ * expanded by the calling thread, so the pool is only used where it pays for itself
+ * The levels, epoch and queue are those of AugmentingPathSearch, only the stamps are its own since a claim needs
+ * compare and set. Searches and frontier sizes are counted by the calling thread, the edges each task looks at are
+ * summed in a LongAdder and added to the counters once the search ends
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class ParallelAugmentingPathSearch extends AugmentingPathSearch {
+    public static final int DEFAULT_THRESHOLD = 1 << 16;   // networks with fewer vertices are searched serially
+    private static final int GRAIN = 1024;                 // frontier vertices a task expands without splitting
+    private static final int BUFFER = 256;                 // discovered vertices a task collects before publishing
+
+    // one buffer of discovered vertices per thread, created on its first expansion and reused by every one after it
+    private static final ThreadLocal<int[]> DISCOVERED = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[BUFFER];
+        }
+    };
+
+    private final ForkJoinPool POOL;            // where the frontier is expanded
+    private final int THRESHOLD;                // smallest network searched in parallel
+    private final AtomicIntegerArray CLAIMED;   // epoch at which each vertex was last claimed
+    private final AtomicInteger NEXT_SIZE;      // vertices in the next frontier so far
+    private final LongAdder EDGES;              // edges looked at by the tasks of the current search
+    private int[] frontier;                     // vertices of the level being expanded
+    private int[] next;                         // vertices of the level after it
+    private boolean lastParallel;               // whether the last search ran here rather than in the serial search
+    private volatile boolean found;             // whether the target has been claimed in this search
+
+    // the search being run, read by the tasks
+    private FlowNetwork flowNetwork;
+    private CompactFlowNetwork compactNetwork;
+    private FlowEdge[] edgeTo;
+    private int[] arcTo;
+    private int target;
+    private int minResidual;
+    private int nextLevel;
+
+    /**
+     * Initialize a search for networks of V vertices on the common pool, with the default threshold
+     * @param V - number of vertices in the network
+     * @throws IllegalArgumentException if vertex total is negative
+     */
+    public ParallelAugmentingPathSearch(int V) {
+        this(V, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Initialize a search for networks of V vertices
+     * @param V - number of vertices in the network
+     * @param pool - where to expand the frontiers
+     * @param threshold - networks with fewer vertices are searched serially, 0 to always search in parallel
+     * @throws IllegalArgumentException if vertex total or threshold is negative
+     */
+    public ParallelAugmentingPathSearch(int V, ForkJoinPool pool, int threshold) {
+        super(V);
+        if (threshold < 0) {
+            throw new IllegalArgumentException("[ERROR] --> Negative threshold not allowed");
+        }
+        this.POOL = pool;
+        this.THRESHOLD = threshold;
+        this.CLAIMED = new AtomicIntegerArray(V);
+        this.NEXT_SIZE = new AtomicInteger();
+        this.EDGES = new LongAdder();
+        this.frontier = QUEUE;
+        this.next = new int[V];
+    }
+
+    /**
+     * Find a shortest augmenting path whose every edge has a residual capacity of at least minResidual
+     * @param flowNetwork - which flow network, it must not change during the search
+     * @param source - network source
+     * @param target - network sink
+     * @param edgeTo - vertex path, edgeTo[v] is the edge used to reach v, only valid for visited vertices
+     * @param minResidual - smallest residual capacity an edge of the path may have, 1 for any augmenting path
+     * @return whether there is such a path or not
+     * @throws IllegalArgumentException if the network has a different number of vertices than the search
+     */
+    @Override
+    public boolean search(FlowNetwork flowNetwork, int source, int target, FlowEdge[] edgeTo, int minResidual) {
+        if (VERTICES < THRESHOLD) {
+            lastParallel = false;
+            return super.search(flowNetwork, source, target, edgeTo, minResidual);
+        }
+        validNetwork(flowNetwork.getNumberOfVertices());
+        this.flowNetwork = flowNetwork;
+        this.edgeTo = edgeTo;
+        try {
+            return run(source, target, minResidual);
+        } finally {
+            this.flowNetwork = null;
+            this.edgeTo = null;
+        }
+    }
+
+    /**
+     * Find a shortest augmenting path of a compact flow network whose every arc has a residual capacity of at least
+     * minResidual
+     * @param flowNetwork - which compact flow network, it must not change during the search
+     * @param source - network source
+     * @param target - network sink
+     * @param arcTo - arc path, arcTo[v] is the arc used to reach v, only valid for visited vertices
+     * @param minResidual - smallest residual capacity an arc of the path may have, 1 for any augmenting path
+     * @return whether there is such a path or not
+     * @throws IllegalArgumentException if the network has a different number of vertices than the search
+     */
+    @Override
+    public boolean search(CompactFlowNetwork flowNetwork, int source, int target, int[] arcTo, int minResidual) {
+        if (VERTICES < THRESHOLD) {
+            lastParallel = false;
+            return super.search(flowNetwork, source, target, arcTo, minResidual);
+        }
+        validNetwork(flowNetwork.getNumberOfVertices());
+        this.compactNetwork = flowNetwork;
+        this.arcTo = arcTo;
+        try {
+            return run(source, target, minResidual);
+        } finally {
+            this.compactNetwork = null;
+            this.arcTo = null;
+        }
+    }
+
+    /**
+     * Run the level synchronous search over whichever network is set
+     * @param source - network source
+     * @param target - network sink
+     * @param minResidual - smallest residual capacity an edge of the path may have
+     * @return whether the target was reached
+     */
+    private boolean run(int source, int target, int minResidual) {
+        lastParallel = true;
+        nextEpoch();
+        searches++;
+        this.target = target;
+        this.minResidual = minResidual;
+        this.found = false;
+
+        CLAIMED.set(source, epoch);
+        LEVEL[source] = 0;
+        frontier[0] = source;
+        int size = 1;
+        nextLevel = 1;
+
+        while (size > 0 && !found) {
+            NEXT_SIZE.set(0);
+            verticesDequeued += size;
+            if (size <= GRAIN) {
+                expand(0, size);
+            } else {
+                POOL.invoke(new Expand(0, size));
+            }
+
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            size = NEXT_SIZE.get();
+            nextLevel++;
+        }
+        edgesExamined += EDGES.sumThenReset();
+        return found;
+    }
+
+    /**
+     * Expand a range of the frontier, claiming every unvisited vertex it reaches through a usable edge
+     * @param from - first frontier index
+     * @param to - one past the last frontier index
+     */
+    private void expand(int from, int to) {
+        int[] discovered = DISCOVERED.get();
+        int count = 0;
+        long edges = 0;     // edges looked at, added to EDGES once so the tasks do not contend on every edge
+        for (int i = from; i < to && !found; i++) {
+            int vertexFrom = frontier[i];
+            if (flowNetwork != null) {
+                ArrayList<FlowEdge> adjacent = flowNetwork.getAdjacent(vertexFrom);
+                for (int e = 0; e < adjacent.size(); e++) {
+                    edges++;
+                    FlowEdge edge = adjacent.get(e);
+                    int vertexTo = edge.otherEnd(vertexFrom);
+                    if (CLAIMED.get(vertexTo) != epoch && edge.residualCapacity(vertexTo) >= minResidual
+                            && claim(vertexTo)) {
+                        edgeTo[vertexTo] = edge;
+                        if (vertexTo == target) {
+                            found = true;
+                            break;
+                        }
+                        discovered[count++] = vertexTo;
+                        if (count == BUFFER) {
+                            publish(discovered, count);
+                            count = 0;
+                        }
+                    }
+                }
+            } else {
+                int end = compactNetwork.endArc(vertexFrom);
+                for (int arc = compactNetwork.firstArc(vertexFrom); arc < end; arc++) {
+                    edges++;
+                    int vertexTo = compactNetwork.head(arc);
+                    if (CLAIMED.get(vertexTo) != epoch && compactNetwork.residualCapacity(arc) >= minResidual
+                            && claim(vertexTo)) {
+                        arcTo[vertexTo] = arc;
+                        if (vertexTo == target) {
+                            found = true;
+                            break;
+                        }
+                        discovered[count++] = vertexTo;
+                        if (count == BUFFER) {
+                            publish(discovered, count);
+                            count = 0;
+                        }
+                    }
+                }
+            }
+        }
+        publish(discovered, count);
+        EDGES.add(edges);
+    }
+
+    /**
+     * Claim a vertex for the current search, only one thread can succeed
+     * @param vertex - which vertex
+     * @return whether this thread claimed it
+     */
+    private boolean claim(int vertex) {
+        int stamp = CLAIMED.get(vertex);
+        if (stamp != epoch && CLAIMED.compareAndSet(vertex, stamp, epoch)) {
+            LEVEL[vertex] = nextLevel;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Append discovered vertices to the next frontier, reserving their slots in one step
+     * @param discovered - the vertices
+     * @param count - how many of them
+     */
+    private void publish(int[] discovered, int count) {
+        if (count > 0) {
+            System.arraycopy(discovered, 0, next, NEXT_SIZE.getAndAdd(count), count);
+        }
+    }
+
+    /**
+     * Expands a range of the frontier, splitting it in half until it is small enough
+     */
+    private class Expand extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int FROM;
+        private final int TO;
+
+        Expand(int from, int to) {
+            this.FROM = from;
+            this.TO = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (TO - FROM <= GRAIN) {
+                expand(FROM, TO);
+            } else {
+                int middle = (FROM + TO) >>> 1;
+                invokeAll(new Expand(FROM, middle), new Expand(middle, TO));
+            }
+        }
+    }
+
+    /**
+     * @param vertex - which vertex
+     * @return whether the vertex was reached by the last search
+     */
+    @Override
+    public boolean isVisited(int vertex) {
+        return lastParallel ? CLAIMED.get(vertex) == epoch : super.isVisited(vertex);
+    }
+
+    /**
+     * Start a new search, the epoch is shared with the serial search so the claims are cleared along with its stamps
+     */
+    @Override
+    protected void nextEpoch() {
+        if (epoch == -1) {
+            for (int v = 0; v < VERTICES; v++) {
+                CLAIMED.set(v, 0);
+            }
+        }
+        super.nextEpoch();
+    }
+}
@@ -0,0 +1,583 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: ParallelPushRelabel API, will compute required max
+                flow on many threads at once, with the lock free
+                Push Relabel method on a CompactFlowNetwork
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ParallelPushRelabel API, a multi threaded alternative to PushRelabel for large compact flow networks
+ * Every worker thread discharges active vertices on its own, without locks: heights, excesses and residual capacities
+ * are atomic arrays, and a vertex is owned by at most one worker at a time, claimed by compare and set on its queued
+ * flag. Only the owner of a vertex raises its height, lowers its excess or lowers the residual capacity of its arcs,
+ * every other thread can only add to them, so what the owner reads is never more than what is really there
+ * Instead of pushing only to a neighbour exactly one below, the owner pushes to its lowest residual neighbour if that
+ * one is lower than itself and relabels otherwise (the lock free method of Hong), which stays correct even when the
+ * neighbour heights it reads are out of date
+ * Each worker keeps its own deque of active vertices, newly activated vertices go to the deque of the worker that
+ * activated them, and a worker whose deque runs dry steals from the others
+ * Global relabelling is done by all workers together: once V relabels have been done since the last one, every
+ * worker stops at the next vertex boundary (a Phaser) and the reverse Breadth First Search from the target is run
+ * level by level, each worker expanding its share of every level, before the deques are refilled
+ *
+ * Phase one ends when no excess can reach the target anymore, which gives the flow value and the min cut, phase two
+ * runs the same workers with the source as the target to return the left over excess, so the network holds a proper
+ * max flow afterwards. The flow is written back to the network once both phases are done
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class ParallelPushRelabel {
+    private static final int RELABEL_BATCH = 64;    // relabels a worker counts locally before adding them up
+    private static final int PADDING = 16;          // longs between the push counters of two workers, a cache line
+
+    private final CompactFlowNetwork FLOW_NETWORK;  // network being solved
+    private final int VERTICES;                     // Number of vertices
+    private final int SOURCE;                       // networks source
+    private final int TARGET;                       // networks target
+    private final int THREADS;                      // number of worker threads
+    private final AtomicIntegerArray RESIDUAL;      // residual capacity of each arc
+    private final AtomicIntegerArray HEIGHT;        // height (distance label) of each vertex
+    private final AtomicLongArray EXCESS;           // flow coming in minus flow going out of each vertex
+    private final AtomicIntegerArray QUEUED;        // 1 while a vertex is in a deque or being discharged
+    private final AtomicInteger ACTIVE;             // number of vertices whose queued flag is set
+    private final AtomicLong RELABELS;              // relabels over the whole solve
+    private final long[] PUSHES;                    // pushes of each worker, at index worker * PADDING
+    private final int[][] FRONTIERS;                // three rotating levels of the global relabelling search
+    private final AtomicInteger[] FRONTIER_SIZES;   // number of vertices in each of them
+    private final boolean[] SOURCE_SIDE;            // vertices on the source side of the min cut
+    private WorkQueue[] queues;                     // deque of each worker
+    private Phaser phaser;                          // where the workers meet for global relabelling
+    private volatile boolean relabelRequested;      // whether the workers should stop for a global relabelling
+    private volatile Throwable failure;             // first exception thrown by a worker
+    private long relabelsAtGlobal;                  // RELABELS at the last global relabelling
+    private int globalRelabels;                     // number of global relabelling searches
+
+    // the phase being run, read by the workers
+    private int sink;                               // vertex the excess is being sent to
+    private int blocked;                            // vertex that takes no part in the phase
+
+    private final int flowValue;                    // value of the max flow
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed flowNetwork, on one worker thread
+     * per processor
+     * @param flowNetwork - the CompactFlowNetwork to perform on, it must not be changed during the solve
+     * @param source - networks source
+     * @param target - networks target
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1 or when source and target
+     * are same
+     */
+    public ParallelPushRelabel(CompactFlowNetwork flowNetwork, int source, int target) {
+        this(flowNetwork, source, target, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed flowNetwork
+     * Runs both phases, so the arcs of the network hold a proper max flow afterwards
+     * @param flowNetwork - the CompactFlowNetwork to perform on, it must not be changed during the solve
+     * @param source - networks source
+     * @param target - networks target
+     * @param threads - number of worker threads
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1, when source and target
+     * are same, or threads is not positive
+     */
+    public ParallelPushRelabel(CompactFlowNetwork flowNetwork, int source, int target, int threads) {
+        this.VERTICES = flowNetwork.getNumberOfVertices();
+
+        // check to see whether source and target are valid vertices
+        validVertex(source);
+        validVertex(target);
+
+        // same source and target no flow
+        if (source == target) {
+            throw new IllegalArgumentException("[ERROR] --> Source and target are the same");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("[ERROR] --> Need at least one thread");
+        }
+
+        this.FLOW_NETWORK = flowNetwork;
+        this.SOURCE = source;
+        this.TARGET = target;
+        this.THREADS = threads;
+        int arcs = flowNetwork.getNumberOfArcs();
+        this.RESIDUAL = new AtomicIntegerArray(arcs);
+        for (int arc = 0; arc < arcs; arc++) {
+            RESIDUAL.set(arc, flowNetwork.residualCapacity(arc));
+        }
+        this.HEIGHT = new AtomicIntegerArray(VERTICES);
+        this.EXCESS = new AtomicLongArray(VERTICES);
+        this.QUEUED = new AtomicIntegerArray(VERTICES);
+        this.ACTIVE = new AtomicInteger();
+        this.RELABELS = new AtomicLong();
+        this.PUSHES = new long[THREADS * PADDING];
+        this.FRONTIERS = new int[][] {new int[VERTICES], new int[VERTICES], new int[VERTICES]};
+        this.FRONTIER_SIZES = new AtomicInteger[] {new AtomicInteger(), new AtomicInteger(), new AtomicInteger()};
+        this.SOURCE_SIDE = new boolean[VERTICES];
+
+        saturateSourceArcs();
+        runPhase(TARGET, SOURCE, true);
+        this.flowValue = (int) EXCESS.get(TARGET);
+        runPhase(SOURCE, TARGET, false);
+
+        writeFlows();
+    }
+
+    /**
+     * Push as much flow as possible out of the source, this creates the initial preflow
+     */
+    private void saturateSourceArcs() {
+        int end = FLOW_NETWORK.endArc(SOURCE);
+        for (int arc = FLOW_NETWORK.firstArc(SOURCE); arc < end; arc++) {
+            int residual = RESIDUAL.get(arc);
+            if (residual > 0) {
+                RESIDUAL.addAndGet(arc, -residual);
+                RESIDUAL.addAndGet(FLOW_NETWORK.reverse(arc), residual);
+                EXCESS.addAndGet(SOURCE, -residual);
+                EXCESS.addAndGet(FLOW_NETWORK.head(arc), residual);
+            }
+        }
+    }
+
+    /**
+     * Run the workers until no active vertex is left
+     * @param sink - vertex the excess is sent to, the target in phase one and the source in phase two
+     * @param blocked - vertex that neither holds nor receives excess in this phase, the other one of the two
+     * @param findCut - whether to record the min cut with a last global relabelling once the phase is done
+     * @throws IllegalStateException if a worker failed or was interrupted
+     */
+    private void runPhase(int sink, int blocked, final boolean findCut) {
+        this.sink = sink;
+        this.blocked = blocked;
+        this.queues = new WorkQueue[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            queues[i] = new WorkQueue();
+        }
+        this.phaser = new Phaser(THREADS);
+        // every phase starts with exact heights, the workers compute them together
+        this.relabelRequested = true;
+
+        Thread[] workers = new Thread[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            final int worker = i;
+            workers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        work(worker);
+                        if (findCut) {
+                            globalRelabel(worker);
+                        }
+                    } catch (Throwable e) {
+                        if (failure == null) {
+                            failure = e;
+                        }
+                        phaser.forceTermination();
+                    }
+                }
+            }, "push-relabel-" + i);
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("[ERROR] --> Interrupted while solving", e);
+            }
+        }
+        if (failure != null) {
+            throw new IllegalStateException("[ERROR] --> Push relabel worker failed", failure);
+        }
+
+        if (findCut) {
+            // after phase one, the vertices that can no longer reach the target form the source side of the min cut
+            for (int v = 0; v < VERTICES; v++) {
+                SOURCE_SIDE[v] = HEIGHT.get(v) >= VERTICES;
+            }
+        }
+    }
+
+    /**
+     * Main loop of a worker, discharge vertices from its own deque or stolen from others until none is active
+     * Once ACTIVE reaches 0 it stays 0, only a vertex being discharged can activate another
+     * Returns early once another worker has failed
+     * @param worker - which worker
+     */
+    private void work(int worker) {
+        WorkQueue queue = queues[worker];
+        int relabels = 0;
+        while (true) {
+            // a failed worker never gives up its active vertices, so ACTIVE would never reach 0
+            if (failure != null) {
+                return;
+            }
+            // a request is only made while some vertex is active, so no worker has left the loop before it is seen
+            if (relabelRequested) {
+                RELABELS.addAndGet(relabels);
+                relabels = 0;
+                if (!globalRelabel(worker)) {
+                    return;
+                }
+                continue;
+            }
+
+            int vertex = queue.pop();
+            if (vertex < 0) {
+                vertex = steal(worker);
+            }
+            if (vertex < 0) {
+                if (ACTIVE.get() == 0 && !relabelRequested) {
+                    RELABELS.addAndGet(relabels);
+                    return;
+                }
+                if (failure != null) {
+                    return;
+                }
+                Thread.yield();
+                continue;
+            }
+
+            relabels += discharge(vertex, worker);
+            if (relabels >= RELABEL_BATCH) {
+                long total = RELABELS.addAndGet(relabels);
+                relabels = 0;
+                if (total - relabelsAtGlobal >= VERTICES) {
+                    relabelRequested = true;
+                }
+            }
+
+            // give the vertex up, then take it back if excess came in while it was being discharged
+            QUEUED.set(vertex, 0);
+            if (isActive(vertex) && QUEUED.compareAndSet(vertex, 0, 1)) {
+                queue.push(vertex);
+            } else {
+                ACTIVE.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Push the excess of a vertex to its lowest residual neighbour, relabelling it whenever that neighbour is not
+     * lower than itself. Stops once the excess is gone or the vertex is lifted to V (cut off from the sink)
+     * @param vertex - vertex to discharge, owned by the calling worker
+     * @param worker - the calling worker, the vertices the pushes activate go to its deque
+     * @return number of relabels done
+     */
+    private int discharge(int vertex, int worker) {
+        WorkQueue queue = queues[worker];
+        int relabels = 0;
+        int first = FLOW_NETWORK.firstArc(vertex);
+        int end = FLOW_NETWORK.endArc(vertex);
+        long excess = EXCESS.get(vertex);
+        int height = HEIGHT.get(vertex);
+        while (excess > 0 && height < VERTICES) {
+            int lowestArc = -1;
+            int lowestHeight = Integer.MAX_VALUE;
+            for (int arc = first; arc < end; arc++) {
+                if (RESIDUAL.get(arc) > 0) {
+                    int neighbourHeight = HEIGHT.get(FLOW_NETWORK.head(arc));
+                    if (neighbourHeight < lowestHeight) {
+                        lowestHeight = neighbourHeight;
+                        lowestArc = arc;
+                    }
+                }
+            }
+
+            if (lowestArc >= 0 && height > lowestHeight) {
+                // no other thread lowers this arc's residual capacity or this vertex's excess, both can only be more
+                int amount = (int) Math.min(excess, RESIDUAL.get(lowestArc));
+                int vertexTo = FLOW_NETWORK.head(lowestArc);
+                RESIDUAL.addAndGet(lowestArc, -amount);
+                RESIDUAL.addAndGet(FLOW_NETWORK.reverse(lowestArc), amount);
+                excess = EXCESS.addAndGet(vertex, -amount);
+                EXCESS.addAndGet(vertexTo, amount);
+                PUSHES[worker * PADDING]++;
+                if (vertexTo != sink && vertexTo != blocked && QUEUED.compareAndSet(vertexTo, 0, 1)) {
+                    ACTIVE.incrementAndGet();
+                    queue.push(vertexTo);
+                }
+            } else {
+                // raise to one above the lowest residual neighbour, or to V if there is none
+                height = lowestArc < 0 ? VERTICES : Math.min(VERTICES, lowestHeight + 1);
+                HEIGHT.set(vertex, height);
+                relabels++;
+                excess = EXCESS.get(vertex);
+            }
+        }
+        return relabels;
+    }
+
+    /**
+     * Steal an active vertex from another worker's deque
+     * @param worker - worker that is stealing
+     * @return the vertex, or -1 if every other deque looked empty
+     */
+    private int steal(int worker) {
+        for (int i = 1; i < THREADS; i++) {
+            int vertex = queues[(worker + i) % THREADS].steal();
+            if (vertex >= 0) {
+                return vertex;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param vertex - which vertex
+     * @return whether the vertex holds excess it can still send to the sink
+     */
+    private boolean isActive(int vertex) {
+        return vertex != sink && vertex != blocked && EXCESS.get(vertex) > 0 && HEIGHT.get(vertex) < VERTICES;
+    }
+
+    /**
+     * Global relabelling, run by every worker together
+     * A reverse Breadth First Search from the sink over the residual network gives every vertex its exact distance
+     * to the sink, vertices that cannot reach it are lifted to V. The deques are refilled afterwards
+     * @param worker - which worker
+     * @return false if the solve was stopped because another worker failed
+     */
+    private boolean globalRelabel(int worker) {
+        // wait for every worker to finish the vertex it is discharging
+        if (phaser.arriveAndAwaitAdvance() < 0) {
+            return false;
+        }
+
+        // nobody steals while the workers are here, so each can empty its own deque
+        WorkQueue queue = queues[worker];
+        for (int vertex = queue.pop(); vertex >= 0; vertex = queue.pop()) {
+            QUEUED.set(vertex, 0);
+        }
+        int from = sliceStart(worker, VERTICES);
+        int to = sliceStart(worker + 1, VERTICES);
+        for (int v = from; v < to; v++) {
+            HEIGHT.set(v, v == sink ? 0 : VERTICES);
+        }
+        if (worker == 0) {
+            globalRelabels++;
+            ACTIVE.set(0);
+            FRONTIERS[0][0] = sink;
+            FRONTIER_SIZES[0].set(1);
+            FRONTIER_SIZES[1].set(0);
+        }
+        if (phaser.arriveAndAwaitAdvance() < 0) {
+            return false;
+        }
+
+        // level by level, level L is read from FRONTIERS[L % 3] and written to FRONTIERS[(L + 1) % 3] while worker 0
+        // clears the third, which nobody touches during the level
+        for (int level = 0; ; level++) {
+            int[] frontier = FRONTIERS[level % 3];
+            int size = FRONTIER_SIZES[level % 3].get();
+            if (size == 0) {
+                break;
+            }
+            if (worker == 0) {
+                FRONTIER_SIZES[(level + 2) % 3].set(0);
+            }
+            int[] next = FRONTIERS[(level + 1) % 3];
+            AtomicInteger nextSize = FRONTIER_SIZES[(level + 1) % 3];
+            for (int i = sliceStart(worker, size); i < sliceStart(worker + 1, size); i++) {
+                int vertexTo = frontier[i];
+                int end = FLOW_NETWORK.endArc(vertexTo);
+                for (int arc = FLOW_NETWORK.firstArc(vertexTo); arc < end; arc++) {
+                    int vertexFrom = FLOW_NETWORK.head(arc);
+                    // walking backwards, so the residual capacity needed is the one of the arc into vertexTo
+                    if (vertexFrom != blocked && HEIGHT.get(vertexFrom) == VERTICES
+                            && RESIDUAL.get(FLOW_NETWORK.reverse(arc)) > 0
+                            && HEIGHT.compareAndSet(vertexFrom, VERTICES, level + 1)) {
+                        next[nextSize.getAndIncrement()] = vertexFrom;
+                    }
+                }
+            }
+            if (phaser.arriveAndAwaitAdvance() < 0) {
+                return false;
+            }
+        }
+
+        // refill the deques, each worker takes the active vertices of its own slice
+        int active = 0;
+        for (int v = from; v < to; v++) {
+            if (isActive(v)) {
+                QUEUED.set(v, 1);
+                queue.push(v);
+                active++;
+            }
+        }
+        ACTIVE.addAndGet(active);
+        if (worker == 0) {
+            relabelsAtGlobal = RELABELS.get();
+            relabelRequested = false;
+        }
+        return phaser.arriveAndAwaitAdvance() >= 0;
+    }
+
+    /**
+     * @param worker - which worker, THREADS for the end of the last slice
+     * @param size - number of items split between the workers
+     * @return first item of the worker's slice
+     */
+    private int sliceStart(int worker, int size) {
+        return (int) ((long) size * worker / THREADS);
+    }
+
+    /**
+     * Copy the flow of every edge back into the network
+     */
+    private void writeFlows() {
+        for (int edge = 0; edge < FLOW_NETWORK.getNumberOfEdges(); edge++) {
+            int arc = FLOW_NETWORK.edgeArc(edge);
+            int change = FLOW_NETWORK.residualCapacity(arc) - RESIDUAL.get(arc);
+            if (change > 0) {
+                FLOW_NETWORK.addResidualFlow(arc, change);
+            } else if (change < 0) {
+                FLOW_NETWORK.addResidualFlow(FLOW_NETWORK.reverse(arc), -change);
+            }
+        }
+    }
+
+    /**
+     * Deque of one worker (Chase and Lev), the worker pushes and pops at the bottom, other workers steal from the top
+     * Only stealing and taking the last vertex need a compare and set, the rest is plain volatile reads and writes
+     */
+    private static class WorkQueue {
+        private static final int INITIAL_CAPACITY = 1 << 10;
+
+        private final AtomicLong top = new AtomicLong();    // next vertex to steal
+        private volatile long bottom;                       // next free slot
+        private volatile AtomicIntegerArray slots = new AtomicIntegerArray(INITIAL_CAPACITY);
+
+        /**
+         * Add a vertex at the bottom, only called by the owning worker
+         * @param vertex - vertex to add
+         */
+        void push(int vertex) {
+            long b = bottom;
+            AtomicIntegerArray array = slots;
+            if (b - top.get() >= array.length() - 1) {
+                array = grow(array, b);
+            }
+            array.set((int) (b & (array.length() - 1)), vertex);
+            bottom = b + 1;
+        }
+
+        /**
+         * Take a vertex from the bottom, only called by the owning worker
+         * @return the vertex, or -1 if the deque is empty
+         */
+        int pop() {
+            long b = bottom - 1;
+            AtomicIntegerArray array = slots;
+            bottom = b;
+            long t = top.get();
+            if (t > b) {
+                bottom = b + 1;
+                return -1;
+            }
+            int vertex = array.get((int) (b & (array.length() - 1)));
+            if (t == b) {
+                // the last vertex, a thief may be taking it at the same time
+                if (!top.compareAndSet(t, t + 1)) {
+                    vertex = -1;
+                }
+                bottom = b + 1;
+            }
+            return vertex;
+        }
+
+        /**
+         * Take a vertex from the top, called by other workers
+         * @return the vertex, or -1 if the deque is empty or another thread took it first
+         */
+        int steal() {
+            long t = top.get();
+            long b = bottom;
+            if (t >= b) {
+                return -1;
+            }
+            AtomicIntegerArray array = slots;
+            int vertex = array.get((int) (t & (array.length() - 1)));
+            return top.compareAndSet(t, t + 1) ? vertex : -1;
+        }
+
+        /**
+         * Double the capacity, the vertices keep their positions so thieves reading the old array see the same ones
+         * @param array - current slots
+         * @param b - current bottom
+         * @return the new slots
+         */
+        private AtomicIntegerArray grow(AtomicIntegerArray array, long b) {
+            AtomicIntegerArray bigger = new AtomicIntegerArray(array.length() * 2);
+            for (long i = top.get(); i < b; i++) {
+                bigger.set((int) (i & (bigger.length() - 1)), array.get((int) (i & (array.length() - 1))));
+            }
+            slots = bigger;
+            return bigger;
+        }
+    }
+
+    /**
+     * @return graphs max flow
+     */
+    public int getFlowValue() {
+        return flowValue;
+    }
+
+    /**
+     * @param vertex - which vertex
+     * @return whether the vertex is on the source side of the min cut
+     * @throws IllegalArgumentException if vertex is out of bounds of 0 and V-1
+     */
+    public boolean isOnSourceSide(int vertex) {
+        validVertex(vertex);
+        return SOURCE_SIDE[vertex];
+    }
+
+    /**
+     * @return number of push operations, over both phases
+     */
+    public long getPushes() {
+        long pushes = 0;
+        for (int i = 0; i < THREADS; i++) {
+            pushes += PUSHES[i * PADDING];
+        }
+        return pushes;
+    }
+
+    /**
+     * @return number of relabel operations, over both phases
+     */
+    public long getRelabels() {
+        return RELABELS.get();
+    }
+
+    /**
+     * @return number of global relabelling searches, over both phases
+     */
+    public int getGlobalRelabels() {
+        return globalRelabels;
+    }
+
+    /**
+     * vertex validation
+     * @param vertex - which vertex to validate
+     * @throws IllegalArgumentException if vertex is out of bounds of 0 and V
+     * starts from 0, therefore will go till total-1
+     */
+    private void validVertex(int vertex) {
+        if (vertex < 0 || vertex >= VERTICES) {
+            throw new IllegalArgumentException("[ERROR] --> Illegal vertex choice: It must be less than " + VERTICES +
+                    " and greater than 0");
+        }
+    }
+}
@@ -0,0 +1,438 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: PushRelabel API, will compute required max flow
+                It implements the highest-label Push Relabel method
+                with the gap and global relabelling heuristics
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * PushRelabel API, an alternative to EdmondsCarp for computing the max flow of a FlowNetwork
+ * Instead of looking for whole augmenting paths, it floods a preflow out of the source and repeatedly pushes excess
+ * from the highest active vertex downhill towards the target, raising (relabelling) a vertex when it is stuck
+ * Works directly on the residual model of FlowEdge, so the FlowNetwork holds the resulting flow afterwards
+ *
+ * Phase one ends when no excess can reach the target anymore, at that point the flow value and the min cut are known
+ * Phase two returns the left over excess back to the source, so that the edges hold a proper flow
+ * Phase two can be skipped when only the flow value or the min cut is needed
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class PushRelabel {
+    private final int VERTICES;         // Number of vertices
+    private final int SOURCE;           // networks source
+    private final int TARGET;           // networks target
+    private final int[] HEIGHT;         // height (distance label) of each vertex
+    private final long[] EXCESS;        // flow coming in minus flow going out of each vertex
+    private final int[] CURRENT_ARC;    // index of the next edge to try in each vertex's adjacency list
+    private final int[] BUCKET_HEAD;    // first active vertex of each height, -1 if there is none
+    private final int[] BUCKET_NEXT;    // next active vertex with the same height, -1 if there is none
+    private final int[] HEIGHT_COUNT;   // number of vertices at each height, used by the gap heuristic
+    private final int[] QUEUE;          // array backed queue used by the global relabelling search
+    private final boolean[] SOURCE_SIDE; // vertices on the source side of the min cut
+    private int highestActive;          // highest bucket that may hold an active vertex
+    private int relabelsSinceGlobal;    // relabels done since the last global relabelling
+    private int flowValue;              // value of the max flow
+    private int pushes;                 // number of push operations
+    private int relabels;               // number of relabel operations
+    private int globalRelabels;         // number of global relabelling searches
+    private int gaps;                   // number of times the gap heuristic fired
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed flowNetwork
+     * Runs both phases, so the edges of the network hold a proper max flow afterwards
+     * @param flowNetwork - the FlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1 or when source and target
+     * are same
+     */
+    public PushRelabel(FlowNetwork flowNetwork, int source, int target) {
+        this(flowNetwork, source, target, false);
+    }
+
+    /**
+     * Initialize and perform the operations in computing the max flow of the passed flowNetwork
+     * @param flowNetwork - the FlowNetwork to perform on
+     * @param source - networks source
+     * @param target - networks target
+     * @param flowValueOnly - stop after phase one, the flow value and min cut are exact but the edges of the network
+     *                      are left holding a preflow (some vertices may still hold excess)
+     * @throws IllegalArgumentException if source or target are out of bounds of 0 and V-1 or when source and target
+     * are same
+     */
+    public PushRelabel(FlowNetwork flowNetwork, int source, int target, boolean flowValueOnly) {
+        this.VERTICES = flowNetwork.getNumberOfVertices();
+
+        // check to see whether source and target are valid vertices
+        validVertex(source);
+        validVertex(target);
+
+        // same source and target no flow
+        if (source == target) {
+            throw new IllegalArgumentException("[ERROR] --> Source and target are the same");
+        }
+
+        this.SOURCE = source;
+        this.TARGET = target;
+        this.HEIGHT = new int[VERTICES];
+        this.EXCESS = new long[VERTICES];
+        this.CURRENT_ARC = new int[VERTICES];
+        this.BUCKET_HEAD = new int[2 * VERTICES + 1];
+        this.BUCKET_NEXT = new int[VERTICES];
+        this.HEIGHT_COUNT = new int[2 * VERTICES + 1];
+        this.QUEUE = new int[VERTICES];
+        this.SOURCE_SIDE = new boolean[VERTICES];
+
+        saturateSourceEdges(flowNetwork);
+        globalRelabel(flowNetwork);
+        phaseOne(flowNetwork);
+
+        this.flowValue = (int) EXCESS[TARGET];
+
+        // after phase one, the vertices that can no longer reach the target form the source side of the min cut
+        globalRelabel(flowNetwork);
+        for (int v = 0; v < VERTICES; v++) {
+            SOURCE_SIDE[v] = HEIGHT[v] >= VERTICES;
+        }
+
+        if (!flowValueOnly) {
+            phaseTwo(flowNetwork);
+        }
+    }
+
+    /**
+     * Push as much flow as possible out of the source, this creates the initial preflow
+     * @param flowNetwork - which flow network
+     */
+    private void saturateSourceEdges(FlowNetwork flowNetwork) {
+        ArrayList<FlowEdge> adjacent = flowNetwork.getAdjacent(SOURCE);
+        for (int i = 0; i < adjacent.size(); i++) {
+            FlowEdge edge = adjacent.get(i);
+            int vertexTo = edge.otherEnd(SOURCE);
+            int residual = edge.residualCapacity(vertexTo);
+            if (residual > 0) {
+                edge.addResidualFlow(vertexTo, residual);
+                EXCESS[SOURCE] -= residual;
+                EXCESS[vertexTo] += residual;
+            }
+        }
+    }
+
+    /**
+     * Discharge the highest active vertex until no excess can reach the target
+     * A vertex is active when it holds excess and its height is below V (it can still reach the target)
+     * @param flowNetwork - which flow network
+     */
+    private void phaseOne(FlowNetwork flowNetwork) {
+        while (highestActive >= 0) {
+            int vertex = BUCKET_HEAD[highestActive];
+            if (vertex < 0) {
+                highestActive--;
+                continue;
+            }
+            BUCKET_HEAD[highestActive] = BUCKET_NEXT[vertex];
+            // the gap heuristic may have lifted a bucketed vertex to V, it is no longer active
+            if (HEIGHT[vertex] != highestActive) {
+                continue;
+            }
+            discharge(flowNetwork, vertex);
+
+            // periodically recompute the exact distances to the target, relabelling on its own drifts too slowly
+            if (relabelsSinceGlobal >= VERTICES) {
+                globalRelabel(flowNetwork);
+            }
+        }
+    }
+
+    /**
+     * Push the excess of a vertex to its neighbours, relabelling it whenever no admissible edge remains
+     * Stops once the excess is gone or the vertex is lifted to V or above (cut off from the target)
+     * @param flowNetwork - which flow network
+     * @param vertex - vertex to discharge
+     */
+    private void discharge(FlowNetwork flowNetwork, int vertex) {
+        ArrayList<FlowEdge> adjacent = flowNetwork.getAdjacent(vertex);
+        while (EXCESS[vertex] > 0) {
+            if (CURRENT_ARC[vertex] == adjacent.size()) {
+                relabel(flowNetwork, vertex);
+                if (HEIGHT[vertex] >= VERTICES) {
+                    return;
+                }
+                continue;
+            }
+
+            FlowEdge edge = adjacent.get(CURRENT_ARC[vertex]);
+            int vertexTo = edge.otherEnd(vertex);
+            int residual = edge.residualCapacity(vertexTo);
+            if (residual > 0 && HEIGHT[vertex] == HEIGHT[vertexTo] + 1) {
+                // a vertex enters its bucket only when its excess goes from zero to positive
+                boolean becomesActive = EXCESS[vertexTo] == 0 && vertexTo != SOURCE && vertexTo != TARGET;
+                push(edge, vertex, vertexTo, (int) Math.min(EXCESS[vertex], residual));
+                if (becomesActive) {
+                    addActive(vertexTo);
+                }
+            } else {
+                CURRENT_ARC[vertex]++;
+            }
+        }
+    }
+
+    /**
+     * Raise a vertex to one above its lowest residual neighbour
+     * If it was the last vertex at its old height, every vertex above that height can no longer reach the target (gap)
+     * @param flowNetwork - which flow network
+     * @param vertex - vertex to relabel
+     */
+    private void relabel(FlowNetwork flowNetwork, int vertex) {
+        relabels++;
+        relabelsSinceGlobal++;
+        int oldHeight = HEIGHT[vertex];
+        int newHeight = VERTICES;
+        ArrayList<FlowEdge> adjacent = flowNetwork.getAdjacent(vertex);
+        for (int i = 0; i < adjacent.size(); i++) {
+            FlowEdge edge = adjacent.get(i);
+            int vertexTo = edge.otherEnd(vertex);
+            if (edge.residualCapacity(vertexTo) > 0) {
+                newHeight = Math.min(newHeight, HEIGHT[vertexTo] + 1);
+            }
+        }
+        newHeight = Math.min(newHeight, VERTICES);
+
+        HEIGHT_COUNT[oldHeight]--;
+        HEIGHT[vertex] = newHeight;
+        HEIGHT_COUNT[newHeight]++;
+        CURRENT_ARC[vertex] = 0;
+
+        if (HEIGHT_COUNT[oldHeight] == 0 && oldHeight < VERTICES) {
+            gap(oldHeight);
+        }
+    }
+
+    /**
+     * Gap heuristic, lift every vertex above the empty height straight to V
+     * @param emptyHeight - height that no vertex holds anymore
+     */
+    private void gap(int emptyHeight) {
+        gaps++;
+        for (int v = 0; v < VERTICES; v++) {
+            if (v != SOURCE && HEIGHT[v] > emptyHeight && HEIGHT[v] < VERTICES) {
+                HEIGHT_COUNT[HEIGHT[v]]--;
+                HEIGHT[v] = VERTICES;
+                HEIGHT_COUNT[VERTICES]++;
+            }
+        }
+    }
+
+    /**
+     * Global relabelling, a reverse Breadth First Search from the target over the residual network
+     * Gives every vertex its exact distance to the target, vertices that cannot reach it are lifted to V
+     * The active buckets are rebuilt from scratch afterwards
+     * @param flowNetwork - which flow network
+     */
+    private void globalRelabel(FlowNetwork flowNetwork) {
+        globalRelabels++;
+        relabelsSinceGlobal = 0;
+        Arrays.fill(HEIGHT, VERTICES);
+        Arrays.fill(HEIGHT_COUNT, 0);
+        int head = 0;
+        int tail = 0;
+        QUEUE[tail++] = TARGET;
+        HEIGHT[TARGET] = 0;
+
+        while (head < tail) {
+            int vertexTo = QUEUE[head++];
+            ArrayList<FlowEdge> adjacent = flowNetwork.getAdjacent(vertexTo);
+            for (int i = 0; i < adjacent.size(); i++) {
+                FlowEdge edge = adjacent.get(i);
+                int vertexFrom = edge.otherEnd(vertexTo);
+                // walking backwards, so the residual capacity needed is the one going from vertexFrom into vertexTo
+                if (HEIGHT[vertexFrom] == VERTICES && vertexFrom != SOURCE && edge.residualCapacity(vertexTo) > 0) {
+                    HEIGHT[vertexFrom] = HEIGHT[vertexTo] + 1;
+                    QUEUE[tail++] = vertexFrom;
+                }
+            }
+        }
+
+        Arrays.fill(BUCKET_HEAD, -1);
+        Arrays.fill(CURRENT_ARC, 0);
+        highestActive = -1;
+        for (int v = 0; v < VERTICES; v++) {
+            HEIGHT_COUNT[HEIGHT[v]]++;
+            if (v != SOURCE && v != TARGET && EXCESS[v] > 0 && HEIGHT[v] < VERTICES) {
+                addActive(v);
+            }
+        }
+    }
+
+    /**
+     * Phase two, send the excess that could not reach the target back to the source
+     * Every such vertex can still reach the source in the residual network, so plain FIFO push relabel with heights
+     * above V always terminates and leaves a proper flow
+     * @param flowNetwork - which flow network
+     */
+    private void phaseTwo(FlowNetwork flowNetwork) {
+        // exact distances to the source, offset by V so that they sit above every phase one height
+        Arrays.fill(HEIGHT, 2 * VERTICES);
+        int head = 0;
+        int tail = 0;
+        QUEUE[tail++] = SOURCE;
+        HEIGHT[SOURCE] = VERTICES;
+        while (head < tail) {
+            int vertexTo = QUEUE[head++];
+            ArrayList<FlowEdge> adjacent = flowNetwork.getAdjacent(vertexTo);
+            for (int i = 0; i < adjacent.size(); i++) {
+                FlowEdge edge = adjacent.get(i);
+                int vertexFrom = edge.otherEnd(vertexTo);
+                if (HEIGHT[vertexFrom] == 2 * VERTICES && vertexFrom != TARGET && edge.residualCapacity(vertexTo) > 0) {
+                    HEIGHT[vertexFrom] = HEIGHT[vertexTo] + 1;
+                    QUEUE[tail++] = vertexFrom;
+                }
+            }
+        }
+
+        // FIFO queue of vertices that still hold excess, each vertex is in it at most once
+        boolean[] queued = new boolean[VERTICES];
+        head = 0;
+        tail = 0;
+        int size = 0;
+        for (int v = 0; v < VERTICES; v++) {
+            if (v != SOURCE && v != TARGET && EXCESS[v] > 0) {
+                QUEUE[tail] = v;
+                tail = (tail + 1) % VERTICES;
+                size++;
+                queued[v] = true;
+            }
+        }
+        Arrays.fill(CURRENT_ARC, 0);
+
+        while (size > 0) {
+            int vertex = QUEUE[head];
+            head = (head + 1) % VERTICES;
+            size--;
+            queued[vertex] = false;
+
+            ArrayList<FlowEdge> adjacent = flowNetwork.getAdjacent(vertex);
+            while (EXCESS[vertex] > 0) {
+                if (CURRENT_ARC[vertex] == adjacent.size()) {
+                    // relabel, there is always a residual edge since the excess came in through one
+                    int newHeight = Integer.MAX_VALUE;
+                    for (int i = 0; i < adjacent.size(); i++) {
+                        FlowEdge edge = adjacent.get(i);
+                        int vertexTo = edge.otherEnd(vertex);
+                        if (edge.residualCapacity(vertexTo) > 0) {
+                            newHeight = Math.min(newHeight, HEIGHT[vertexTo] + 1);
+                        }
+                    }
+                    relabels++;
+                    HEIGHT[vertex] = newHeight;
+                    CURRENT_ARC[vertex] = 0;
+                    continue;
+                }
+
+                FlowEdge edge = adjacent.get(CURRENT_ARC[vertex]);
+                int vertexTo = edge.otherEnd(vertex);
+                int residual = edge.residualCapacity(vertexTo);
+                if (residual > 0 && HEIGHT[vertex] == HEIGHT[vertexTo] + 1) {
+                    push(edge, vertex, vertexTo, (int) Math.min(EXCESS[vertex], residual));
+                    if (vertexTo != SOURCE && vertexTo != TARGET && !queued[vertexTo]) {
+                        QUEUE[tail] = vertexTo;
+                        tail = (tail + 1) % VERTICES;
+                        size++;
+                        queued[vertexTo] = true;
+                    }
+                } else {
+                    CURRENT_ARC[vertex]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Push flow along an edge, updating the excess on both of its ends
+     * @param edge - edge to push along
+     * @param vertexFrom - vertex the flow leaves
+     * @param vertexTo - vertex the flow enters
+     * @param amount - amount of flow to push
+     */
+    private void push(FlowEdge edge, int vertexFrom, int vertexTo, int amount) {
+        pushes++;
+        edge.addResidualFlow(vertexTo, amount);
+        EXCESS[vertexFrom] -= amount;
+        EXCESS[vertexTo] += amount;
+    }
+
+    /**
+     * Add a vertex to the bucket of its height
+     * @param vertex - vertex to add
+     */
+    private void addActive(int vertex) {
+        int height = HEIGHT[vertex];
+        BUCKET_NEXT[vertex] = BUCKET_HEAD[height];
+        BUCKET_HEAD[height] = vertex;
+        highestActive = Math.max(highestActive, height);
+    }
+
+    /**
+     * @return graphs max flow
+     */
+    public int getFlowValue() {
+        return flowValue;
+    }
+
+    /**
+     * @param vertex - which vertex
+     * @return whether the vertex is on the source side of the min cut
+     * @throws IllegalArgumentException if vertex is out of bounds of 0 and V-1
+     */
+    public boolean isOnSourceSide(int vertex) {
+        validVertex(vertex);
+        return SOURCE_SIDE[vertex];
+    }
+
+    /**
+     * @return number of push operations
+     */
+    public int getPushes() {
+        return pushes;
+    }
+
+    /**
+     * @return number of relabel operations
+     */
+    public int getRelabels() {
+        return relabels;
+    }
+
+    /**
+     * @return number of global relabelling searches
+     */
+    public int getGlobalRelabels() {
+        return globalRelabels;
+    }
+
+    /**
+     * @return number of times the gap heuristic lifted vertices
+     */
+    public int getGaps() {
+        return gaps;
+    }
+
+    /**
+     * vertex validation
+     * @param vertex - which vertex to validate
+     * @throws IllegalArgumentException if vertex is out of bounds of 0 and V
+     * starts from 0, therefore will go till total-1
+     */
+    private void validVertex(int vertex) {
+        if (vertex < 0 || vertex >= VERTICES) {
+            throw new IllegalArgumentException("[ERROR] --> Illegal vertex choice: It must be less than " + VERTICES +
+                    " and greater than 0");
+        }
+    }
+}
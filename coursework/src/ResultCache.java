@@ -0,0 +1,379 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: ResultCache API, keeps solved max flows on disk so
+                that solving the same file again is only a lookup
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * ResultCache API, a directory of solved max flows keyed by the contents of the network file and the source and sink
+ * Each result is one file named after a 64 bit hash of the network file's bytes, its length, the source and the sink,
+ * so a renamed or copied network still hits and a changed one never does. A result holds the flow value and, when they
+ * are stored, the source side of the min cut and the flow of every edge
+ * The hash reads the file in large blocks and mixes 8 bytes at a time, so it runs at disk speed. When trustModified
+ * is set even that is skipped for a path whose size and modification time are the same as when it was last hashed,
+ * those are kept in an index file in the cache directory
+ * The cache is kept under a size bound by least recently used eviction: a hit touches the modification time of the
+ * result file, and after every store the oldest results are deleted until the directory fits again
+ * Results are written to a temporary file and moved into place, so a reader never sees half a result
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class ResultCache {
+    private static final int MAGIC = 0x46434348;            // "FCCH", result files are written big endian
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".flow";
+    private static final String INDEX = "index.properties";
+    private static final int BLOCK = 1 << 20;               // bytes hashed per read
+    private static final long PRIME_1 = 0x87C37B91114253D5L;
+    private static final long PRIME_2 = 0x4CF5AD432745937FL;
+
+    private final File DIRECTORY;           // where the results are kept
+    private final long MAX_BYTES;           // size bound of all results together
+    private final boolean TRUST_MODIFIED;   // whether an unchanged size and modification time skip hashing
+    private final Properties INDEX_ENTRIES; // path -> "size,modified,hash" of every file hashed so far
+
+    /**
+     * A cached result
+     */
+    public static class Entry {
+        private final int flowValue;
+        private final boolean[] sourceSide;     // null when it was not stored
+        private final int[] edgeFlows;          // null when it was not stored
+
+        Entry(int flowValue, boolean[] sourceSide, int[] edgeFlows) {
+            this.flowValue = flowValue;
+            this.sourceSide = sourceSide;
+            this.edgeFlows = edgeFlows;
+        }
+
+        /**
+         * @return the max flow
+         */
+        public int getFlowValue() {
+            return flowValue;
+        }
+
+        /**
+         * @return whether each vertex is on the source side of the min cut, or null if that was not stored
+         */
+        public boolean[] getSourceSide() {
+            return sourceSide;
+        }
+
+        /**
+         * @return flow of each edge in the order of ResultCache.edgeFlows, or null if they were not stored
+         */
+        public int[] getEdgeFlows() {
+            return edgeFlows;
+        }
+    }
+
+    /**
+     * Open a cache directory, creating it if needed
+     * @param directory - where the results are kept
+     * @param maxBytes - size bound of all results together
+     * @param trustModified - skip hashing a file whose size and modification time have not changed since it was last
+     *                      hashed, only safe if files are never rewritten within the same modification time
+     * @throws IOException if the directory cannot be created or its index cannot be read
+     * @throws IllegalArgumentException if maxBytes is not positive
+     */
+    public ResultCache(String directory, long maxBytes, boolean trustModified) throws IOException {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("[ERROR] --> Cache size must be positive");
+        }
+        this.DIRECTORY = new File(directory);
+        this.MAX_BYTES = maxBytes;
+        this.TRUST_MODIFIED = trustModified;
+        this.INDEX_ENTRIES = new Properties();
+        Files.createDirectories(DIRECTORY.toPath());
+
+        File index = new File(DIRECTORY, INDEX);
+        if (index.isFile()) {
+            try (InputStream in = new FileInputStream(index)) {
+                INDEX_ENTRIES.load(in);
+            }
+        }
+    }
+
+    /**
+     * Look up the result of a network file
+     * @param file - the network file
+     * @param source - source it is solved from
+     * @param sink - sink it is solved to
+     * @return the result, or null if it is not cached
+     * @throws IOException if the network file cannot be read
+     */
+    public Entry lookup(String file, int source, int sink) throws IOException {
+        File result = resultFile(file, source, sink);
+        if (!result.isFile()) {
+            return null;
+        }
+        Entry entry;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(result)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            int flowValue = in.readInt();
+            boolean[] sourceSide = null;
+            int vertices = in.readInt();
+            if (vertices >= 0) {
+                sourceSide = new boolean[vertices];
+                for (int v = 0; v < vertices; v += 8) {
+                    int bits = in.readUnsignedByte();
+                    for (int bit = 0; bit < 8 && v + bit < vertices; bit++) {
+                        sourceSide[v + bit] = (bits & (1 << bit)) != 0;
+                    }
+                }
+            }
+            int[] edgeFlows = null;
+            int edges = in.readInt();
+            if (edges >= 0) {
+                edgeFlows = new int[edges];
+                for (int e = 0; e < edges; e++) {
+                    edgeFlows[e] = in.readInt();
+                }
+            }
+            entry = new Entry(flowValue, sourceSide, edgeFlows);
+        } catch (IOException e) {
+            // evicted by another process while being read, or cut short, either way it is a miss
+            return null;
+        }
+        // least recently used is tracked through the modification time
+        result.setLastModified(System.currentTimeMillis());
+        return entry;
+    }
+
+    /**
+     * Store the result of a network file, then evict the oldest results if the cache is over its bound
+     * @param file - the network file
+     * @param source - source it was solved from
+     * @param sink - sink it was solved to
+     * @param flowValue - the max flow
+     * @param sourceSide - whether each vertex is on the source side of the min cut, or null to leave it out
+     * @param edgeFlows - flow of each edge in the order of edgeFlows(FlowNetwork), or null to leave them out
+     * @throws IOException if the network file cannot be read or the result cannot be written
+     */
+    public void store(String file, int source, int sink, int flowValue, boolean[] sourceSide, int[] edgeFlows)
+            throws IOException {
+        File result = resultFile(file, source, sink);
+        File temporary = File.createTempFile("result", ".tmp", DIRECTORY);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(flowValue);
+                if (sourceSide == null) {
+                    out.writeInt(-1);
+                } else {
+                    out.writeInt(sourceSide.length);
+                    for (int v = 0; v < sourceSide.length; v += 8) {
+                        int bits = 0;
+                        for (int bit = 0; bit < 8 && v + bit < sourceSide.length; bit++) {
+                            bits |= sourceSide[v + bit] ? 1 << bit : 0;
+                        }
+                        out.writeByte(bits);
+                    }
+                }
+                if (edgeFlows == null) {
+                    out.writeInt(-1);
+                } else {
+                    out.writeInt(edgeFlows.length);
+                    for (int flow : edgeFlows) {
+                        out.writeInt(flow);
+                    }
+                }
+            }
+            Files.move(temporary.toPath(), result.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary.toPath());
+        }
+        evict();
+    }
+
+    /**
+     * Delete the least recently used results until all of them together fit in MAX_BYTES
+     */
+    private void evict() {
+        File[] results = DIRECTORY.listFiles();
+        if (results == null) {
+            return;
+        }
+        List<File> cached = new ArrayList<>();
+        long total = 0;
+        for (File result : results) {
+            if (result.getName().endsWith(SUFFIX)) {
+                cached.add(result);
+                total += result.length();
+            }
+        }
+        if (total <= MAX_BYTES) {
+            return;
+        }
+        Collections.sort(cached, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                return Long.compare(a.lastModified(), b.lastModified());
+            }
+        });
+        for (File result : cached) {
+            if (total <= MAX_BYTES) {
+                break;
+            }
+            long size = result.length();
+            if (result.delete()) {
+                total -= size;
+            }
+        }
+    }
+
+    /**
+     * @return the result file of a network file, source and sink
+     */
+    private File resultFile(String file, int source, int sink) throws IOException {
+        long length = new File(file).length();
+        // the root locale keeps the digits ASCII, so a result is found under the same name whatever the JVMs locale
+        return new File(DIRECTORY, String.format(Locale.ROOT, "%016x-%d-%d-%d%s", hash(file), length, source, sink,
+                SUFFIX));
+    }
+
+    /**
+     * Hash the contents of a file, or take the hash from the index if allowed and the file looks unchanged
+     * @param file - which file
+     * @return its 64 bit hash
+     * @throws IOException if the file cannot be read
+     */
+    public long hash(String file) throws IOException {
+        File input = new File(file);
+        String path = input.getCanonicalPath();
+        String stamp = input.length() + "," + input.lastModified() + ",";
+        String known = INDEX_ENTRIES.getProperty(path);
+        if (TRUST_MODIFIED && known != null && known.startsWith(stamp)) {
+            return Long.parseUnsignedLong(known.substring(stamp.length()), 16);
+        }
+
+        long hash = hashContents(file);
+        if (TRUST_MODIFIED) {
+            INDEX_ENTRIES.setProperty(path, stamp + Long.toHexString(hash));
+            saveIndex();
+        }
+        return hash;
+    }
+
+    /**
+     * Write the index of hashed files, through a temporary file so it is never left half written
+     * @throws IOException if it cannot be written
+     */
+    private void saveIndex() throws IOException {
+        File temporary = File.createTempFile("index", ".tmp", DIRECTORY);
+        try {
+            try (OutputStream out = new FileOutputStream(temporary)) {
+                INDEX_ENTRIES.store(out, "network file -> size,modified,hash");
+            }
+            Files.move(temporary.toPath(), new File(DIRECTORY, INDEX).toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary.toPath());
+        }
+    }
+
+    /**
+     * 64 bit hash of the bytes of a file, 8 bytes are mixed in at a time (the MurmurHash3 mixing steps)
+     * @param file - which file
+     * @return the hash
+     * @throws IOException if the file cannot be read
+     */
+    private static long hashContents(String file) throws IOException {
+        long hash = 0;
+        long length = 0;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BLOCK).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                length += buffer.remaining();
+                while (buffer.remaining() >= 8) {
+                    hash = mix(hash, buffer.getLong());
+                }
+                // fewer than 8 bytes left, they are kept for the next block unless the file has ended
+                if (channel.position() == channel.size()) {
+                    long tail = 0;
+                    for (int shift = 0; buffer.hasRemaining(); shift += 8) {
+                        tail |= (buffer.get() & 0xFFL) << shift;
+                    }
+                    hash = mix(hash, tail);
+                    break;
+                }
+                buffer.compact();
+            }
+        }
+        return finish(hash ^ length);
+    }
+
+    /**
+     * @return the hash with one more 8 byte block mixed in
+     */
+    private static long mix(long hash, long block) {
+        block *= PRIME_1;
+        block = Long.rotateLeft(block, 31);
+        block *= PRIME_2;
+        hash ^= block;
+        return Long.rotateLeft(hash, 27) * 5 + 0x52DCE729;
+    }
+
+    /**
+     * @return the hash with its bits spread over the whole value
+     */
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * The flow of every edge of a network, in the order a cached result holds them: by from vertex, and within a
+     * vertex in the order of its adjacency list. A network built from the same file always gives the same order
+     * @param flowNetwork - which flow network
+     * @return the flows
+     */
+    public static int[] edgeFlows(FlowNetwork flowNetwork) {
+        int[] flows = new int[flowNetwork.getNumberOfEdges()];
+        int e = 0;
+        for (int v = 0; v < flowNetwork.getNumberOfVertices(); v++) {
+            for (FlowEdge edge : flowNetwork.getAdjacent(v)) {
+                if (edge.from() == v) {
+                    flows[e++] = edge.getFlow();
+                }
+            }
+        }
+        return flows;
+    }
+}
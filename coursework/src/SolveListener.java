@@ -0,0 +1,69 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: SolveListener API, will be notified of the steps
+                a max flow solver takes
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+/**
+ * SolveListener API, which a solver reports its progress to instead of printing it itself
+ * Every method does nothing by default, so a listener only implements what it is interested in
+ * Only primitive values are passed, so that reporting never has to build objects or strings in the solver
+ * Solvers skip the calls entirely when given NONE, so the hot loop does no work at all unless tracing is enabled
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public interface SolveListener {
+    /**
+     * Listener that ignores everything, the default of every solver
+     */
+    SolveListener NONE = new SolveListener() { };
+
+    /**
+     * Called once before the first augmenting path is searched for
+     * @param edges - number of edges in the network
+     * @param vertices - number of vertices in the network
+     */
+    default void onStart(int edges, int vertices) {
+    }
+
+    /**
+     * Called for every edge of an augmenting path, after the bottleneck was added to it
+     * @param vertexFrom - from vertex of the edge
+     * @param vertexTo - to vertex of the edge
+     * @param capacity - capacity of the edge
+     * @param flowBefore - flow of the edge before the augmentation
+     * @param flowAfter - flow of the edge after the augmentation
+     */
+    default void onEdgeAugmented(int vertexFrom, int vertexTo, int capacity, int flowBefore, int flowAfter) {
+    }
+
+    /**
+     * Called once an augmenting path has been fully applied
+     * @param augmentingPaths - number of augmenting paths so far, including this one
+     * @param bottleneckCapacity - amount of flow pushed along the path
+     * @param flowBefore - flow value before the path
+     * @param flowAfter - flow value after the path
+     */
+    default void onAugmentingPath(int augmentingPaths, int bottleneckCapacity, int flowBefore, int flowAfter) {
+    }
+
+    /**
+     * Called every so often by solvers that can be stopped early, such as AnytimeMaxFlow
+     * @param flowValue - flow value so far, a lower bound of the max flow
+     * @param upperBound - capacity of the smallest cut seen so far, an upper bound of the max flow
+     * @param augmentingPaths - number of augmenting paths so far
+     */
+    default void onProgress(int flowValue, long upperBound, int augmentingPaths) {
+    }
+
+    /**
+     * Called once the solver is done
+     * @param flowValue - the max flow
+     * @param augmentingPaths - total number of augmenting paths
+     */
+    default void onFinish(int flowValue, int augmentingPaths) {
+    }
+}
@@ -0,0 +1,605 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: SolverDaemon API, a long running server that keeps
+                loaded networks in memory and answers requests
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SolverDaemon API, a server on a local port that loads each network once, by name, and keeps it and its solver in
+ * memory, so that a request costs a lookup and the solve itself instead of a new JVM, a parse and a cold JIT
+ * Requests are single lines of text, each answered with a single line starting with OK, or with the error message:
+ *      LOAD name file          load a network file, binary or text, and solve its max flow from its source to its sink
+ *      SOLVE name [s t]        max flow, of the files source and sink or of s and t
+ *      MINCUT name [s t]       max flow followed by the edges of a min cut, as from->to
+ *      UPDATE name from to c   give the first edge from->to capacity c, or add such an edge if there is none
+ *      UNLOAD name             forget a network
+ *      STATS                   loads, reloads, evictions, hits and misses so far, and what is in memory
+ *      QUIT                    close the connection
+ *      SHUTDOWN                stop the daemon
+ * The max flow of the files own source and sink is kept up to date by an IncrementalMaxFlow session, so SOLVE of it
+ * is answered without solving and UPDATE only repairs the flow around the edge. Other sources and sinks are solved
+ * with Dinic on a compact copy of the network, made once and shared by concurrent requests until the next UPDATE
+ * The networks in memory are kept under a memory budget, least recently used first out. An evicted network stays
+ * known by its name and is loaded again, with its updates replayed, when it is next asked for
+ * Every connection is handled on a thread of its own, a request waits only for other requests on the same network
+ * Only the loopback address is listened on, the daemon is meant for clients on the same machine
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class SolverDaemon implements Closeable {
+    private final ServerSocket SERVER;              // accepts the connections
+    private final ExecutorService HANDLERS;         // one thread per open connection
+    // connections still open, so that closing the daemon can close them
+    private final Set<Socket> CONNECTIONS = Collections.newSetFromMap(new ConcurrentHashMap<Socket, Boolean>());
+    private final long MEMORY_BYTES;                // bytes of networks allowed in memory at once
+    // every known network by name, in least recently used first order, guarded by this daemon
+    private final LinkedHashMap<String, Graph> GRAPHS = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder REQUESTS = new LongAdder();
+    private final LongAdder HITS = new LongAdder();
+    private final LongAdder MISSES = new LongAdder();
+    private long residentBytes;     // estimated bytes of the networks in memory, guarded by this daemon
+    private long loads;             // networks loaded by LOAD, guarded by this daemon
+    private long reloads;           // evicted networks loaded again, guarded by this daemon
+    private long evictions;         // networks evicted, guarded by this daemon
+
+    /**
+     * A network known to the daemon, requests on it lock it so that they see its flow one at a time
+     */
+    private static class Graph {
+        private final String NAME;                              // name it was loaded as
+        private final String FILE;                              // file it is loaded from
+        private final List<int[]> UPDATES = new ArrayList<>();  // every UPDATE in order, replayed when loaded again
+        private int source;                                     // source of the file
+        private int target;                                     // sink of the file
+        private volatile IncrementalMaxFlow session;            // flow of the network, null while evicted
+        private volatile CompactFlowNetwork snapshot;           // copy for other sources and sinks, null until needed
+        private long bytes;                                     // estimated size with snapshot, guarded by the daemon
+        private boolean resident;                               // whether it counts towards the budget, by the daemon
+
+        Graph(String name, String file) {
+            this.NAME = name;
+            this.FILE = file;
+        }
+    }
+
+    /**
+     * Start listening, requests are only served once serve is called
+     * @param port - local port to listen on, 0 for any free port
+     * @param memoryBytes - bytes of networks allowed in memory at once, one network larger than this is still kept
+     * @throws IOException if the port cannot be listened on
+     * @throws IllegalArgumentException if memoryBytes is not positive
+     */
+    public SolverDaemon(int port, long memoryBytes) throws IOException {
+        if (memoryBytes < 1) {
+            throw new IllegalArgumentException("[ERROR] --> Need at least one byte of memory");
+        }
+        this.MEMORY_BYTES = memoryBytes;
+        this.SERVER = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.HANDLERS = Executors.newCachedThreadPool();
+    }
+
+    /**
+     * @return the port listened on
+     */
+    public int getPort() {
+        return SERVER.getLocalPort();
+    }
+
+    /**
+     * Accept connections until the daemon is closed
+     * @throws IOException if accepting fails for any other reason than the daemon being closed
+     */
+    public void serve() throws IOException {
+        while (!SERVER.isClosed()) {
+            final Socket socket;
+            try {
+                socket = SERVER.accept();
+            } catch (SocketException e) {
+                if (SERVER.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            // replies are small, so they are sent at once instead of waiting to fill a packet
+            socket.setTcpNoDelay(true);
+            HANDLERS.execute(new Runnable() {
+                @Override
+                public void run() {
+                    handleConnection(socket);
+                }
+            });
+        }
+    }
+
+    /**
+     * Answer the requests of one connection until it is closed, QUIT or SHUTDOWN
+     * @param socket - the connection
+     */
+    private void handleConnection(Socket socket) {
+        CONNECTIONS.add(socket);
+        try (Socket connection = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(),
+                     StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(),
+                     StandardCharsets.UTF_8))) {
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                String request = line.trim();
+                if (request.equalsIgnoreCase("QUIT")) {
+                    return;
+                }
+                if (request.equalsIgnoreCase("SHUTDOWN")) {
+                    out.write("OK\n");
+                    out.flush();
+                    close();
+                    return;
+                }
+                out.write(handle(request));
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            // the client went away, or the daemon was closed, there is nobody left to answer
+        } finally {
+            CONNECTIONS.remove(socket);
+        }
+    }
+
+    /**
+     * Answer one request, also usable without a connection
+     * @param request - the request line
+     * @return the reply line, without its line end
+     */
+    public String handle(String request) {
+        REQUESTS.increment();
+        String[] words = request.trim().split("\\s+");
+        try {
+            switch (words[0].toUpperCase(Locale.ROOT)) {
+                case "LOAD":
+                    expectWords(words, 3, 3);
+                    return load(words[1], words[2]);
+                case "SOLVE":
+                    expectWords(words, 2, 4);
+                    return solve(words, false);
+                case "MINCUT":
+                    expectWords(words, 2, 4);
+                    return solve(words, true);
+                case "UPDATE":
+                    expectWords(words, 5, 5);
+                    return update(lookup(words[1]), Integer.parseInt(words[2]), Integer.parseInt(words[3]),
+                            Integer.parseInt(words[4]));
+                case "UNLOAD":
+                    expectWords(words, 2, 2);
+                    return unload(words[1]);
+                case "STATS":
+                    return getStats();
+                default:
+                    return "[ERROR] --> Unknown request " + words[0]
+                            + ", expected LOAD, SOLVE, MINCUT, UPDATE, UNLOAD, STATS, QUIT or SHUTDOWN";
+            }
+        } catch (NumberFormatException e) {
+            return "[ERROR] --> Vertices and capacities must be integers";
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * LOAD, replacing any network of the same name
+     * @param name - name to know the network by
+     * @param file - file to load it from
+     * @return the reply
+     */
+    private String load(String name, String file) {
+        Graph graph = new Graph(name, file);
+        synchronized (graph) {
+            IncrementalMaxFlow session = loadSession(graph);
+            synchronized (this) {
+                Graph previous = GRAPHS.put(name, graph);
+                if (previous != null && previous.resident) {
+                    evict(previous);
+                }
+                loads++;
+                admit(graph);
+            }
+            FlowNetwork network = session.getFlowNetwork();
+            return "OK " + network.getNumberOfVertices() + " " + network.getNumberOfEdges() + " "
+                    + session.getFlowValue();
+        }
+    }
+
+    /**
+     * SOLVE and MINCUT
+     * @param words - the request, its name followed by an optional source and sink
+     * @param minCut - whether the cut edges are wanted as well
+     * @return the reply
+     */
+    private String solve(String[] words, boolean minCut) {
+        if (words.length == 3) {
+            throw new IllegalArgumentException("[ERROR] --> Give both a source and a sink, or neither");
+        }
+        Graph graph = lookup(words[1]);
+        CompactFlowNetwork snapshot;
+        int source;
+        int target;
+        synchronized (graph) {
+            IncrementalMaxFlow session = session(graph);
+            source = words.length == 4 ? Integer.parseInt(words[2]) : graph.source;
+            target = words.length == 4 ? Integer.parseInt(words[3]) : graph.target;
+            if (source == graph.source && target == graph.target) {
+                StringBuilder reply = new StringBuilder("OK ").append(session.getFlowValue());
+                if (minCut) {
+                    appendCut(session.getFlowNetwork(), source, target, reply);
+                }
+                return reply.toString();
+            }
+            boolean made = graph.snapshot == null;
+            snapshot = snapshot(graph, session.getFlowNetwork());
+            if (made) {
+                charge(graph, session.getFlowNetwork());
+            }
+        }
+
+        // other sources and sinks are solved outside the lock, each on a query network of its own
+        CompactFlowNetwork query = snapshot.newQuery();
+        StringBuilder reply = new StringBuilder("OK ").append(new Dinic(query, source, target).getFlowValue());
+        if (minCut) {
+            appendCut(query, source, target, reply);
+        }
+        return reply.toString();
+    }
+
+    /**
+     * UPDATE, the flow of the files source and sink is repaired right away
+     * @param graph - which network
+     * @param vertexFrom - from vertex of the edge
+     * @param vertexTo - to vertex of the edge
+     * @param capacity - its new capacity
+     * @return the reply, with the new max flow
+     */
+    private String update(Graph graph, int vertexFrom, int vertexTo, int capacity) {
+        synchronized (graph) {
+            IncrementalMaxFlow session = session(graph);
+            FlowNetwork network = session.getFlowNetwork();
+            validVertex(vertexFrom, network.getNumberOfVertices());
+            validVertex(vertexTo, network.getNumberOfVertices());
+            FlowEdge edge = findEdge(network, vertexFrom, vertexTo);
+            if (edge == null) {
+                session.addEdge(new FlowEdge(vertexFrom, vertexTo, capacity));
+            } else {
+                session.setCapacity(edge, capacity);
+            }
+            graph.UPDATES.add(new int[] {vertexFrom, vertexTo, capacity});
+            graph.snapshot = null;
+            charge(graph, network);
+            return "OK " + session.getFlowValue();
+        }
+    }
+
+    /**
+     * UNLOAD
+     * @param name - which network
+     * @return the reply
+     */
+    private synchronized String unload(String name) {
+        Graph graph = GRAPHS.remove(name);
+        if (graph == null) {
+            throw new IllegalArgumentException("[ERROR] --> Unknown network " + name);
+        }
+        if (graph.resident) {
+            evict(graph);
+        }
+        return "OK";
+    }
+
+    /**
+     * @return the STATS reply
+     */
+    public synchronized String getStats() {
+        int resident = 0;
+        for (Graph graph : GRAPHS.values()) {
+            if (graph.resident) {
+                resident++;
+            }
+        }
+        return "OK networks=" + GRAPHS.size() + " resident=" + resident + " residentMb=" + (residentBytes >> 20)
+                + " budgetMb=" + (MEMORY_BYTES >> 20) + " loads=" + loads + " reloads=" + reloads
+                + " evictions=" + evictions + " hits=" + HITS.sum() + " misses=" + MISSES.sum()
+                + " requests=" + REQUESTS.sum();
+    }
+
+    /**
+     * @param name - which network
+     * @return the network, now the most recently used
+     * @throws IllegalArgumentException if no network has that name
+     */
+    private synchronized Graph lookup(String name) {
+        Graph graph = GRAPHS.get(name);
+        if (graph == null) {
+            throw new IllegalArgumentException("[ERROR] --> Unknown network " + name + ", LOAD it first");
+        }
+        return graph;
+    }
+
+    /**
+     * The session of a network, loading it again if it was evicted, must hold the networks lock
+     * @param graph - which network
+     * @return its session
+     */
+    private IncrementalMaxFlow session(Graph graph) {
+        IncrementalMaxFlow session = graph.session;
+        if (session != null) {
+            HITS.increment();
+            return session;
+        }
+        MISSES.increment();
+        session = loadSession(graph);
+        synchronized (this) {
+            // a network unloaded or replaced meanwhile answers this request but is not kept
+            if (GRAPHS.get(graph.NAME) == graph) {
+                reloads++;
+                admit(graph);
+            }
+        }
+        return session;
+    }
+
+    /**
+     * Load the file of a network, replay its updates and solve its max flow, must hold the networks lock
+     * @param graph - which network
+     * @return its new session
+     * @throws IllegalArgumentException if the file cannot be loaded
+     */
+    private IncrementalMaxFlow loadSession(Graph graph) {
+        FlowNetwork network;
+        try {
+            network = FlowNetwork.fromFile(graph.FILE);
+
+            // as in Main, the source is 0 and the sink the last vertex unless a binary file says otherwise
+            graph.source = 0;
+            graph.target = network.getNumberOfVertices() - 1;
+            if (BinaryGraphFile.isBinary(graph.FILE)) {
+                BinaryGraphFile header = new BinaryGraphFile(graph.FILE);
+                graph.source = header.getSource();
+                graph.target = header.getSink();
+            }
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("[ERROR] --> " + graph.FILE + " could not be loaded: " + e.getMessage(),
+                    e);
+        }
+
+        // there is no flow yet, so the updates go straight into the network instead of through a session
+        for (int[] update : graph.UPDATES) {
+            FlowEdge edge = findEdge(network, update[0], update[1]);
+            if (edge == null) {
+                network.addEdge(new FlowEdge(update[0], update[1], update[2]));
+            } else {
+                edge.setCapacity(update[2]);
+            }
+        }
+
+        IncrementalMaxFlow session = new IncrementalMaxFlow(network, graph.source, graph.target);
+        graph.session = session;
+        graph.bytes = BatchSolver.networkBytes(network.getNumberOfVertices(), network.getNumberOfEdges());
+        return session;
+    }
+
+    /**
+     * Count a network just loaded towards the budget, and evict the least recently used others while over it
+     * Must hold this daemons lock
+     * @param graph - the network just loaded
+     */
+    private void admit(Graph graph) {
+        graph.resident = true;
+        residentBytes += graph.bytes;
+        evictOthers(graph);
+    }
+
+    /**
+     * Count a network again after it grew or shrank, an edge added by UPDATE or a snapshot made or dropped, and evict
+     * the least recently used others while over the budget, must hold the networks lock
+     * @param graph - which network
+     * @param network - its flow network
+     */
+    private synchronized void charge(Graph graph, FlowNetwork network) {
+        if (!graph.resident) {
+            // evicted or unloaded meanwhile, a snapshot made since would only be held without being counted
+            graph.snapshot = null;
+            return;
+        }
+        long bytes = BatchSolver.networkBytes(network.getNumberOfVertices(), network.getNumberOfEdges());
+        CompactFlowNetwork snapshot = graph.snapshot;
+        if (snapshot != null) {
+            bytes += snapshot.getBytes();
+        }
+        residentBytes += bytes - graph.bytes;
+        graph.bytes = bytes;
+        evictOthers(graph);
+    }
+
+    /**
+     * Evict the least recently used networks other than the given one while over the budget
+     * Must hold this daemons lock
+     * @param graph - the network to keep
+     */
+    private void evictOthers(Graph graph) {
+        Iterator<Graph> leastRecent = GRAPHS.values().iterator();
+        while (residentBytes > MEMORY_BYTES && leastRecent.hasNext()) {
+            Graph candidate = leastRecent.next();
+            if (candidate != graph && candidate.resident) {
+                evict(candidate);
+                evictions++;
+            }
+        }
+    }
+
+    /**
+     * Drop a network from memory, a request still using it keeps it until it is done
+     * Must hold this daemons lock
+     * @param graph - which network
+     */
+    private void evict(Graph graph) {
+        graph.resident = false;
+        graph.session = null;
+        graph.snapshot = null;
+        residentBytes -= graph.bytes;
+    }
+
+    /**
+     * The compact copy of a network for other sources and sinks, made when first needed, must hold the networks lock
+     * @param graph - which network
+     * @param network - its flow network
+     * @return the copy, its own flows are never used
+     */
+    private static CompactFlowNetwork snapshot(Graph graph, FlowNetwork network) {
+        CompactFlowNetwork snapshot = graph.snapshot;
+        if (snapshot == null) {
+            // each edge is seen once from its from vertex, so the copy has the edges in the same order
+            int[] from = new int[network.getNumberOfEdges()];
+            int[] to = new int[from.length];
+            int[] capacity = new int[from.length];
+            int edges = 0;
+            for (int v = 0; v < network.getNumberOfVertices(); v++) {
+                for (FlowEdge edge : network.getAdjacent(v)) {
+                    if (edge.from() == v) {
+                        from[edges] = edge.from();
+                        to[edges] = edge.to();
+                        capacity[edges] = edge.getCapacity();
+                        edges++;
+                    }
+                }
+            }
+            snapshot = new CompactFlowNetwork(network.getNumberOfVertices(), from, to, capacity);
+            graph.snapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Append the edges leaving the vertices the source still reaches in the residual network, a min cut once the
+     * flow is maximum
+     * @param network - network carrying a max flow
+     * @param source - its source
+     * @param target - its sink
+     * @param reply - where to append the edges
+     */
+    private static void appendCut(FlowNetwork network, int source, int target, StringBuilder reply) {
+        int vertices = network.getNumberOfVertices();
+        AugmentingPathSearch search = new AugmentingPathSearch(vertices);
+        search.search(network, source, target, new FlowEdge[vertices]);
+        for (int v = 0; v < vertices; v++) {
+            if (search.isVisited(v)) {
+                for (FlowEdge edge : network.getAdjacent(v)) {
+                    if (edge.from() == v && !search.isVisited(edge.to())) {
+                        reply.append(' ').append(edge.from()).append("->").append(edge.to());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Same as above, for a compact network
+     * @param network - compact network carrying a max flow
+     * @param source - its source
+     * @param target - its sink
+     * @param reply - where to append the edges
+     */
+    private static void appendCut(CompactFlowNetwork network, int source, int target, StringBuilder reply) {
+        AugmentingPathSearch search = new AugmentingPathSearch(network.getNumberOfVertices());
+        search.search(network, source, target, new int[network.getNumberOfVertices()]);
+        for (int edge = 0; edge < network.getNumberOfEdges(); edge++) {
+            int arc = network.edgeArc(edge);
+            if (search.isVisited(network.tail(arc)) && !search.isVisited(network.head(arc))) {
+                reply.append(' ').append(network.tail(arc)).append("->").append(network.head(arc));
+            }
+        }
+    }
+
+    /**
+     * @param network - which network
+     * @param vertexFrom - from vertex of the edge
+     * @param vertexTo - to vertex of the edge
+     * @return the first edge from vertexFrom to vertexTo, null if there is none
+     */
+    private static FlowEdge findEdge(FlowNetwork network, int vertexFrom, int vertexTo) {
+        for (FlowEdge edge : network.getAdjacent(vertexFrom)) {
+            if (edge.from() == vertexFrom && edge.to() == vertexTo) {
+                return edge;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param words - the request
+     * @param least - fewest words it may have
+     * @param most - most words it may have
+     * @throws IllegalArgumentException if it has too few or too many
+     */
+    private static void expectWords(String[] words, int least, int most) {
+        if (words.length < least || words.length > most) {
+            throw new IllegalArgumentException("[ERROR] --> Wrong number of arguments for " + words[0]);
+        }
+    }
+
+    /**
+     * vertex validation
+     * @param vertex - which vertex to validate
+     * @param vertices - number of vertices of the network
+     * @throws IllegalArgumentException if vertex is out of bounds of 0 and V
+     * starts from 0, therefore will go till total-1
+     */
+    private static void validVertex(int vertex, int vertices) {
+        if (vertex < 0 || vertex >= vertices) {
+            throw new IllegalArgumentException("[ERROR] --> Illegal vertex choice: It must be less than " + vertices +
+                    " and greater than 0");
+        }
+    }
+
+    /**
+     * Stop listening and close the connections still open
+     * @throws IOException if the port cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        SERVER.close();
+        // a handler blocked reading its connection only wakes up once the connection is closed
+        for (Socket connection : CONNECTIONS) {
+            try {
+                connection.close();
+            } catch (IOException e) {
+                // closing the rest matters more
+            }
+        }
+        HANDLERS.shutdown();
+    }
+}
@@ -0,0 +1,333 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: SolverMetrics API, counts and times the parse, build
+                and solve stages, published through JMX and JFR
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * SolverMetrics API, the totals of every parse, build and solve of the JVM, so that a live run can be profiled without
+ * any printed output: over JMX as the MBean FlowNetwork:type=SolverMetrics, and as the JFR events flow.Stage and
+ * flow.Solve when a flight recording is running
+ * The stages and solvers keep their counts in plain local fields and report them once when they are done, so nothing
+ * is added to the hot loops and the totals are only touched once per stage
+ * JFR events are created through jdk.jfr.EventFactory by reflection, as the code is kept at Java 8 where jdk.jfr is
+ * not part of the platform. On a runtime without it only the MBean is published
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public class SolverMetrics implements SolverMetricsMBean {
+    private static final String OBJECT_NAME = "FlowNetwork:type=SolverMetrics";     // name of the MBean
+    private static final SolverMetrics INSTANCE = new SolverMetrics();
+
+    static {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (JMException | SecurityException e) {
+            // the totals are still kept and still go to JFR, only JMX cannot see them
+        }
+    }
+
+    private final LongAdder PARSES = new LongAdder();
+    private final LongAdder PARSE_NANOS = new LongAdder();
+    private final LongAdder BUILDS = new LongAdder();
+    private final LongAdder BUILD_NANOS = new LongAdder();
+    private final LongAdder LOADS = new LongAdder();
+    private final LongAdder LOAD_NANOS = new LongAdder();
+    private final LongAdder SOLVES = new LongAdder();
+    private final LongAdder SOLVE_NANOS = new LongAdder();
+    private final LongAdder SEARCHES = new LongAdder();
+    private final LongAdder EDGES_SCANNED = new LongAdder();
+    private final LongAdder VERTICES_DEQUEUED = new LongAdder();
+    private final LongAdder AUGMENTATIONS = new LongAdder();
+    private final LongAdder BOTTLENECK_SUM = new LongAdder();
+    private volatile long lastSolveNanos;       // time of the most recent solve
+    private volatile long lastAugmentations;    // augmenting paths of the most recent solve
+    private volatile long lastFlowValue;        // max flow of the most recent solve
+
+    private final FlightEvent STAGE_EVENT = FlightEvent.create("flow.Stage", "Flow Network Stage",
+            new String[] {"stage", "vertices", "edges", "nanos"},
+            new Class<?>[] {String.class, int.class, int.class, long.class});
+    private final FlightEvent SOLVE_EVENT = FlightEvent.create("flow.Solve", "Max Flow Solve",
+            new String[] {"solver", "vertices", "edges", "nanos", "searches", "edgesScanned", "verticesDequeued",
+                    "augmentations", "bottleneckSum", "flowValue"},
+            new Class<?>[] {String.class, int.class, int.class, long.class, long.class, long.class, long.class,
+                    long.class, long.class, int.class});
+
+    /**
+     * Only the one instance, so that every stage of the JVM adds to the same totals
+     */
+    private SolverMetrics() {
+    }
+
+    /**
+     * @return the metrics of this JVM, registered with the platform MBean server
+     */
+    public static SolverMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Record a file parsed into a parser object
+     * @param vertices - number of vertices read
+     * @param edges - number of edges read
+     * @param nanos - time taken
+     */
+    public void recordParse(int vertices, int edges, long nanos) {
+        PARSES.increment();
+        PARSE_NANOS.add(nanos);
+        emitStage("parse", vertices, edges, nanos);
+    }
+
+    /**
+     * Record a network built from a parser object
+     * @param vertices - number of vertices of the network
+     * @param edges - number of edges of the network
+     * @param nanos - time taken
+     */
+    public void recordBuild(int vertices, int edges, long nanos) {
+        BUILDS.increment();
+        BUILD_NANOS.add(nanos);
+        emitStage("build", vertices, edges, nanos);
+    }
+
+    /**
+     * Record a network streamed from a file, where parsing and building are one stage
+     * @param vertices - number of vertices of the network
+     * @param edges - number of edges of the network
+     * @param nanos - time taken
+     */
+    public void recordLoad(int vertices, int edges, long nanos) {
+        LOADS.increment();
+        LOAD_NANOS.add(nanos);
+        emitStage("load", vertices, edges, nanos);
+    }
+
+    /**
+     * Record a finished max flow solve
+     * @param solver - name of the solver
+     * @param vertices - number of vertices of the network
+     * @param edges - number of edges of the network
+     * @param nanos - time taken
+     * @param searches - augmenting path searches run
+     * @param edgesScanned - edges looked at by those searches
+     * @param verticesDequeued - vertices taken off the queue by those searches
+     * @param augmentations - augmenting paths applied
+     * @param bottleneckSum - sum of the bottlenecks of those paths
+     * @param flowValue - the max flow
+     */
+    public void recordSolve(String solver, int vertices, int edges, long nanos, long searches, long edgesScanned,
+                            long verticesDequeued, long augmentations, long bottleneckSum, int flowValue) {
+        SOLVES.increment();
+        SOLVE_NANOS.add(nanos);
+        SEARCHES.add(searches);
+        EDGES_SCANNED.add(edgesScanned);
+        VERTICES_DEQUEUED.add(verticesDequeued);
+        AUGMENTATIONS.add(augmentations);
+        BOTTLENECK_SUM.add(bottleneckSum);
+        lastSolveNanos = nanos;
+        lastAugmentations = augmentations;
+        lastFlowValue = flowValue;
+        if (SOLVE_EVENT != null) {
+            SOLVE_EVENT.emit(solver, vertices, edges, nanos, searches, edgesScanned, verticesDequeued, augmentations,
+                    bottleneckSum, flowValue);
+        }
+    }
+
+    /**
+     * Send a stage to JFR
+     * @param stage - name of the stage
+     * @param vertices - number of vertices
+     * @param edges - number of edges
+     * @param nanos - time taken
+     */
+    private void emitStage(String stage, int vertices, int edges, long nanos) {
+        if (STAGE_EVENT != null) {
+            STAGE_EVENT.emit(stage, vertices, edges, nanos);
+        }
+    }
+
+    @Override
+    public long getParses() {
+        return PARSES.sum();
+    }
+
+    @Override
+    public long getParseNanos() {
+        return PARSE_NANOS.sum();
+    }
+
+    @Override
+    public long getBuilds() {
+        return BUILDS.sum();
+    }
+
+    @Override
+    public long getBuildNanos() {
+        return BUILD_NANOS.sum();
+    }
+
+    @Override
+    public long getLoads() {
+        return LOADS.sum();
+    }
+
+    @Override
+    public long getLoadNanos() {
+        return LOAD_NANOS.sum();
+    }
+
+    @Override
+    public long getSolves() {
+        return SOLVES.sum();
+    }
+
+    @Override
+    public long getSolveNanos() {
+        return SOLVE_NANOS.sum();
+    }
+
+    @Override
+    public long getSearches() {
+        return SEARCHES.sum();
+    }
+
+    @Override
+    public long getEdgesScanned() {
+        return EDGES_SCANNED.sum();
+    }
+
+    @Override
+    public long getVerticesDequeued() {
+        return VERTICES_DEQUEUED.sum();
+    }
+
+    @Override
+    public long getAugmentations() {
+        return AUGMENTATIONS.sum();
+    }
+
+    @Override
+    public long getBottleneckSum() {
+        return BOTTLENECK_SUM.sum();
+    }
+
+    @Override
+    public long getLastSolveNanos() {
+        return lastSolveNanos;
+    }
+
+    @Override
+    public long getLastAugmentations() {
+        return lastAugmentations;
+    }
+
+    @Override
+    public long getLastFlowValue() {
+        return lastFlowValue;
+    }
+
+    @Override
+    public void reset() {
+        LongAdder[] adders = {PARSES, PARSE_NANOS, BUILDS, BUILD_NANOS, LOADS, LOAD_NANOS, SOLVES, SOLVE_NANOS,
+                SEARCHES, EDGES_SCANNED, VERTICES_DEQUEUED, AUGMENTATIONS, BOTTLENECK_SUM};
+        for (LongAdder adder : adders) {
+            adder.reset();
+        }
+        lastSolveNanos = 0;
+        lastAugmentations = 0;
+        lastFlowValue = 0;
+    }
+
+    /**
+     * A JFR event type made at run time with jdk.jfr.EventFactory, the fields are set in the order they were given
+     */
+    private static class FlightEvent {
+        private final Object FACTORY;           // the jdk.jfr.EventFactory
+        private final Method NEW_EVENT;         // EventFactory.newEvent()
+        private final Method IS_ENABLED;        // Event.isEnabled()
+        private final Method SET;               // Event.set(int, Object)
+        private final Method COMMIT;            // Event.commit()
+
+        private FlightEvent(Object factory, Method newEvent, Method isEnabled, Method set, Method commit) {
+            this.FACTORY = factory;
+            this.NEW_EVENT = newEvent;
+            this.IS_ENABLED = isEnabled;
+            this.SET = set;
+            this.COMMIT = commit;
+        }
+
+        /**
+         * Register an event type with JFR, fields called nanos are shown as a time span
+         * @param name - name of the event
+         * @param label - label recordings show for it
+         * @param fields - name of each field
+         * @param types - type of each field
+         * @return the event type, null if the runtime has no JFR
+         */
+        static FlightEvent create(String name, String label, String[] fields, Class<?>[] types) {
+            try {
+                Class<?> annotationElement = Class.forName("jdk.jfr.AnnotationElement");
+                Class<?> valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor");
+                Class<?> eventFactory = Class.forName("jdk.jfr.EventFactory");
+                Class<?> event = Class.forName("jdk.jfr.Event");
+                Constructor<?> annotation = annotationElement.getConstructor(Class.class, Object.class);
+                Constructor<?> field = valueDescriptor.getConstructor(Class.class, String.class, List.class);
+
+                List<Object> annotations = new ArrayList<>();
+                annotations.add(annotation.newInstance(Class.forName("jdk.jfr.Name"), name));
+                annotations.add(annotation.newInstance(Class.forName("jdk.jfr.Label"), label));
+                annotations.add(annotation.newInstance(Class.forName("jdk.jfr.Category"),
+                        new String[] {"Flow Network"}));
+
+                List<Object> descriptors = new ArrayList<>();
+                for (int i = 0; i < fields.length; i++) {
+                    List<Object> fieldAnnotations = fields[i].equals("nanos")
+                            ? Collections.singletonList(annotation.newInstance(Class.forName("jdk.jfr.Timespan"),
+                                    "NANOSECONDS"))
+                            : Collections.emptyList();
+                    descriptors.add(field.newInstance(types[i], fields[i], fieldAnnotations));
+                }
+
+                Object factory = eventFactory.getMethod("create", List.class, List.class)
+                        .invoke(null, annotations, descriptors);
+                return new FlightEvent(factory, eventFactory.getMethod("newEvent"), event.getMethod("isEnabled"),
+                        event.getMethod("set", int.class, Object.class), event.getMethod("commit"));
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                // Java 8, or a runtime built without JFR
+                return null;
+            }
+        }
+
+        /**
+         * Commit one event, when a recording has it enabled
+         * @param values - value of each field
+         */
+        void emit(Object... values) {
+            try {
+                Object event = NEW_EVENT.invoke(FACTORY);
+                if (!(Boolean) IS_ENABLED.invoke(event)) {
+                    return;
+                }
+                for (int i = 0; i < values.length; i++) {
+                    SET.invoke(event, i, values[i]);
+                }
+                COMMIT.invoke(event);
+            } catch (ReflectiveOperationException e) {
+                // an event that could not be written is dropped, the totals are already counted
+            }
+        }
+    }
+}
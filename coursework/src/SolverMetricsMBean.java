@@ -0,0 +1,102 @@
+/* *****************************************************************
+ * Name: Ammar Raneez | 2019163 | W1761196
+ * Description: SolverMetricsMBean API, the management interface
+                SolverMetrics is published to JMX through
+ * Written: October 2026
+ * Last Updated: October 2026
+ * Copyright © 2021 Ammar Raneez. All Rights Reserved.
+ *******************************************************************/
+
+/**
+ * SolverMetricsMBean API, every getter is a read only attribute of the SolverMetrics MBean and reset an operation
+ * Counts and times are totals since the start of the JVM or the last reset, the last solve ones are of the most recent
+ * solve only
+ * @version 1.x March 6th 2021
+ * @author Ammar Raneez | 2019163 | W1761196
+ */
+public interface SolverMetricsMBean {
+    /**
+     * @return number of files parsed into a parser object
+     */
+    long getParses();
+
+    /**
+     * @return nanoseconds spent parsing files into parser objects
+     */
+    long getParseNanos();
+
+    /**
+     * @return number of networks built from a parser object
+     */
+    long getBuilds();
+
+    /**
+     * @return nanoseconds spent building networks from parser objects
+     */
+    long getBuildNanos();
+
+    /**
+     * @return number of networks streamed from a file, parsed and built at once
+     */
+    long getLoads();
+
+    /**
+     * @return nanoseconds spent streaming networks from files
+     */
+    long getLoadNanos();
+
+    /**
+     * @return number of max flows solved
+     */
+    long getSolves();
+
+    /**
+     * @return nanoseconds spent solving max flows
+     */
+    long getSolveNanos();
+
+    /**
+     * @return augmenting path searches (breadth first searches) run by the solves
+     */
+    long getSearches();
+
+    /**
+     * @return edges looked at by those searches
+     */
+    long getEdgesScanned();
+
+    /**
+     * @return vertices taken off the queue by those searches
+     */
+    long getVerticesDequeued();
+
+    /**
+     * @return augmenting paths applied by the solves
+     */
+    long getAugmentations();
+
+    /**
+     * @return sum of the bottlenecks of those paths
+     */
+    long getBottleneckSum();
+
+    /**
+     * @return nanoseconds of the last solve
+     */
+    long getLastSolveNanos();
+
+    /**
+     * @return augmenting paths of the last solve
+     */
+    long getLastAugmentations();
+
+    /**
+     * @return max flow of the last solve
+     */
+    long getLastFlowValue();
+
+    /**
+     * Set every count and time back to 0
+     */
+    void reset();
+}